@@ -1,25 +1,221 @@
 package Event_Reminder_System;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpPrincipal;
+import com.sun.net.httpserver.Headers;
 import java.io.*;
-import java.net.InetSocketAddress;
+import java.lang.management.ManagementFactory;
+import java.net.*;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Topic 1: Java Fundamentals - Enum for recurrence frequencies
+enum RecurrenceFrequency { DAILY, WEEKLY, MONTHLY }
+
+// Recurrence rule stored once per series (subset of RFC 5545 RRULE:
+// FREQ=DAILY|WEEKLY|MONTHLY;INTERVAL=n;COUNT=n;UNTIL=yyyyMMdd)
+class RecurrenceRule {
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final int count;        // 0 = unbounded
+    private final LocalDate until;  // null = unbounded
+    
+    public RecurrenceRule(RecurrenceFrequency frequency, int interval, int count, LocalDate until) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Recurrence interval must be positive: " + interval);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Recurrence count must be positive: " + count);
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+    }
+    
+    // Accepts either a plain frequency ("weekly") or an RRULE string.
+    // Every malformed rule is reported as an IllegalArgumentException naming the bad part.
+    public static RecurrenceRule parse(String rule) {
+        String text = rule.trim();
+        if (text.toUpperCase().startsWith("RRULE:")) text = text.substring(6);
+        if (!text.contains("=")) {
+            return new RecurrenceRule(frequency(text), 1, 0, null);
+        }
+        
+        RecurrenceFrequency frequency = null;
+        int interval = 1, count = 0;
+        LocalDate until = null;
+        for (String part : text.split(";")) {
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) continue;
+            String value = kv[1].trim();
+            switch (kv[0].trim().toUpperCase()) {
+                case "FREQ":
+                    frequency = frequency(value);
+                    break;
+                case "INTERVAL":
+                    interval = positive("INTERVAL", value);
+                    break;
+                case "COUNT":
+                    count = positive("COUNT", value);
+                    break;
+                case "UNTIL":
+                    try {
+                        until = LocalDate.parse(value.length() >= 8 ? value.substring(0, 8) : value,
+                                DateTimeFormatter.BASIC_ISO_DATE);
+                    } catch (DateTimeParseException e) {
+                        throw new IllegalArgumentException("UNTIL must be a yyyyMMdd date: " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported RRULE part: " + kv[0]);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("RRULE is missing FREQ: " + rule);
+        }
+        return new RecurrenceRule(frequency, interval, count, until);
+    }
+    
+    private static RecurrenceFrequency frequency(String value) {
+        try {
+            return RecurrenceFrequency.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported frequency (use DAILY, WEEKLY or MONTHLY): " + value);
+        }
+    }
+    
+    // COUNT=0 would otherwise read as an unbounded series
+    private static int positive(String name, String value) {
+        int n;
+        try {
+            n = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a positive integer: " + value);
+        }
+        if (n <= 0) throw new IllegalArgumentException(name + " must be a positive integer: " + value);
+        return n;
+    }
+    
+    private LocalDate nth(LocalDate start, long n) {
+        switch (frequency) {
+            case DAILY: return start.plusDays(n * interval);
+            case WEEKLY: return start.plusWeeks(n * interval);
+            default: return start.plusMonths(n * interval);
+        }
+    }
+    
+    // Index of the first occurrence on or after 'from', computed without walking the series
+    private long firstIndexOnOrAfter(LocalDate start, LocalDate from) {
+        if (!from.isAfter(start)) return 0;
+        ChronoUnit unit = frequency == RecurrenceFrequency.DAILY ? ChronoUnit.DAYS
+                : frequency == RecurrenceFrequency.WEEKLY ? ChronoUnit.WEEKS : ChronoUnit.MONTHS;
+        long n = unit.between(start, from) / interval;
+        while (nth(start, n).isBefore(from)) n++;
+        return n;
+    }
+    
+    // Lazily expands only the occurrences that fall inside [from, to]
+    public List<LocalDate> occurrencesBetween(LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        for (long n = firstIndexOnOrAfter(start, from); count <= 0 || n < count; n++) {
+            LocalDate date = nth(start, n);
+            if (date.isAfter(last)) break;
+            result.add(date);
+        }
+        return result;
+    }
+    
+    // Whether any occurrence falls inside [from, to], without expanding the series
+    public boolean occursBetween(LocalDate start, LocalDate from, LocalDate to) {
+        long n = firstIndexOnOrAfter(start, from);
+        if (count > 0 && n >= count) return false;
+        LocalDate date = nth(start, n);
+        return !date.isAfter(to) && (until == null || !date.isAfter(until));
+    }
+    
+    // Number of occurrences inside [from, to], also without expanding the series
+    public long countBetween(LocalDate start, LocalDate from, LocalDate to) {
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        if (last.isBefore(from) || last.isBefore(start)) return 0;
+        long first = firstIndexOnOrAfter(start, from);
+        long end = firstIndexOnOrAfter(start, last);
+        if (nth(start, end).equals(last)) end++;
+        if (count > 0) {
+            first = Math.min(first, count);
+            end = Math.min(end, count);
+        }
+        return end - first;
+    }
+    
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        return !occurrencesBetween(start, date, date).isEmpty();
+    }
+    
+    public String toRRule() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) rule.append(";INTERVAL=").append(interval);
+        if (count > 0) rule.append(";COUNT=").append(count);
+        if (until != null) rule.append(";UNTIL=").append(until.format(DateTimeFormatter.BASIC_ISO_DATE));
+        return rule.toString();
+    }
+    
+    @Override
+    public String toString() { return toRRule(); }
+}
 
 // Topic 1: Java Fundamentals - Basic class structure
 // Topic 3: OOP Essentials - Encapsulation, constructors
-// Your original Event class (unchanged)
+// Your original Event class (extended with optional recurrence)
 class Event {
     private String title;
     private String Description;
     private LocalDate date;
     private boolean isCompleted;
     
+    // Recurring series: rule plus sparse per-occurrence overrides (keyed by occurrence date)
+    private RecurrenceRule recurrence;
+    private Map<LocalDate, Event> occurrenceOverrides;
+    // Set on expanded occurrences, pointing back at their series
+    private Event series;
+    // Set on events read back from the cold archive
+    private boolean archived;
+    // Process-wide identity, stable while the event is in memory
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    private final long id = NEXT_ID.incrementAndGet();
+    
     public Event(String title, String Description, LocalDate date) {
         this.title = title;
         this.Description = Description;
@@ -27,22 +223,91 @@ class Event {
         isCompleted = false;
     }
     
+    public Event(String title, String Description, LocalDate date, RecurrenceRule recurrence) {
+        this(title, Description, date);
+        this.recurrence = recurrence;
+    }
+    
     public String showTitle() { return this.title; }
     public String showDescription() { return this.Description; }
     public LocalDate getDate() { return this.date; }
     public boolean getEventStatus() { return isCompleted; }
     public void setEventStatus(boolean flag) { this.isCompleted = flag; }
     
+    // Identity for de-duplication: an occurrence is its series plus its date, since occurrences
+    // are re-created on every expansion
+    public String identityKey() {
+        return series != null ? series.id + "@" + date : Long.toString(id);
+    }
+    
+    public long getId() { return id; }
+    public boolean isRecurring() { return recurrence != null; }
+    public RecurrenceRule getRecurrence() { return recurrence; }
+    public Event getSeries() { return series; }
+    public boolean isArchived() { return archived; }
+    public void markArchived() { this.archived = true; }
+    
+    // Materializes a single occurrence of this series, applying any override.
+    // Completing the whole series completes every occurrence that has no override of its own.
+    public Event occurrence(LocalDate occurrenceDate) {
+        if (occurrenceOverrides != null) {
+            Event override = occurrenceOverrides.get(occurrenceDate);
+            if (override != null) return override;
+        }
+        Event occurrence = new Event(title, Description, occurrenceDate);
+        occurrence.series = this;
+        occurrence.isCompleted = isCompleted;
+        return occurrence;
+    }
+    
+    public List<Event> occurrencesBetween(LocalDate from, LocalDate to) {
+        List<Event> result = new ArrayList<>();
+        if (!isRecurring()) {
+            if (!date.isBefore(from) && !date.isAfter(to)) result.add(this);
+            return result;
+        }
+        for (LocalDate occurrenceDate : recurrence.occurrencesBetween(date, from, to)) {
+            result.add(occurrence(occurrenceDate));
+        }
+        return result;
+    }
+    
+    // Dates of occurrences completed individually, for rebuilding analytics
+    public List<LocalDate> completedOccurrenceDates() {
+        List<LocalDate> dates = new ArrayList<>();
+        if (occurrenceOverrides == null) return dates;
+        for (Map.Entry<LocalDate, Event> override : occurrenceOverrides.entrySet()) {
+            if (override.getValue().getEventStatus()) dates.add(override.getKey());
+        }
+        return dates;
+    }
+    
+    // Only touched occurrences are stored, so long series stay cheap
+    public boolean completeOccurrence(LocalDate occurrenceDate) {
+        if (!isRecurring() || !recurrence.occursOn(date, occurrenceDate)) return false;
+        if (occurrenceOverrides == null) occurrenceOverrides = new HashMap<>();
+        Event override = occurrence(occurrenceDate);
+        override.setEventStatus(true);
+        occurrenceOverrides.put(occurrenceDate, override);
+        return true;
+    }
+    
     // Topic 1: Java Fundamentals - Method overriding
     @Override
     public String toString() {
-        return String.format("Event{title='%s', description='%s', date=%s, completed=%b}", 
-                title, Description, date, isCompleted);
+        return String.format("Event{title='%s', description='%s', date=%s, completed=%b%s}", 
+                title, Description, date, isCompleted,
+                isRecurring() ? ", recurrence=" + recurrence : "");
     }
     
     public String toJson() {
-        return String.format("{\"title\":\"%s\",\"description\":\"%s\",\"date\":\"%s\",\"isCompleted\":%b}",
-                escapeJson(title), escapeJson(Description), date.toString(), isCompleted);
+        String recurrenceJson = isRecurring() ? ",\"recurrence\":\"" + recurrence.toRRule() + "\"" : "";
+        String seriesJson = series != null ? ",\"seriesDate\":\"" + series.getDate() + "\"" : "";
+        // Only events held in the store can be addressed by id
+        String idJson = series == null && !archived ? ",\"id\":" + id : "";
+        return String.format("{\"title\":\"%s\",\"description\":\"%s\",\"date\":\"%s\",\"isCompleted\":%b%s%s%s%s}",
+                escapeJson(title), escapeJson(Description), date.toString(), isCompleted,
+                recurrenceJson, seriesJson, archived ? ",\"archived\":true" : "", idJson);
     }
     
     private String escapeJson(String text) {
@@ -148,6 +413,26 @@ class EventLinkedList extends DataManager implements EventRepository {
         }
     }
     
+    // Single pass removal of every matching event (used when events move to the archive)
+    public int removeMatching(java.util.function.Predicate<Event> predicate) {
+        int removed = 0;
+        while (head != null && predicate.test(head.data)) {
+            head = head.next;
+            removed++;
+        }
+        EventNode current = head;
+        while (current != null && current.next != null) {
+            if (predicate.test(current.next.data)) {
+                current.next = current.next.next;
+                removed++;
+            } else {
+                current = current.next;
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+    
     @Override
     public int count() { return size; }
     
@@ -170,7 +455,7 @@ class EventLinkedList extends DataManager implements EventRepository {
     }
 }
 
-// Topic 8: Stack Implementation (Internal - for undo functionality)
+// Topic 8: Stack Implementation (Internal - for undo functionality; thread-safe)
 class EventStack<T> extends DataManager {
     private T[] stackArray;
     private int top;
@@ -184,35 +469,35 @@ class EventStack<T> extends DataManager {
         this.top = -1;
     }
     
-    public boolean push(T item) {
+    public synchronized boolean push(T item) {
         if (isFull()) return false;
         stackArray[++top] = item;
         return true;
     }
     
-    public T pop() {
+    public synchronized T pop() {
         if (isEmpty()) return null;
         return stackArray[top--];
     }
     
-    public T peek() {
+    public synchronized T peek() {
         if (isEmpty()) return null;
         return stackArray[top];
     }
     
-    public boolean isEmpty() { return top == -1; }
-    public boolean isFull() { return top == maxSize - 1; }
+    public synchronized boolean isEmpty() { return top == -1; }
+    public synchronized boolean isFull() { return top == maxSize - 1; }
     
     @Override
-    public void displayInfo() {
+    public synchronized void displayInfo() {
         System.out.println("Internal Stack - Size: " + (top + 1) + "/" + maxSize);
     }
     
     @Override
-    public int getCurrentSize() { return top + 1; }
+    public synchronized int getCurrentSize() { return top + 1; }
 }
 
-// Topic 8: Queue Implementation (Internal - for event processing)
+// Topic 8: Queue Implementation (Internal - for event processing; thread-safe)
 class EventQueue<T> extends DataManager {
     private T[] queueArray;
     private int front, rear, size, maxSize;
@@ -227,7 +512,7 @@ class EventQueue<T> extends DataManager {
         this.size = 0;
     }
     
-    public boolean enqueue(T item) {
+    public synchronized boolean enqueue(T item) {
         if (isFull()) return false;
         rear = (rear + 1) % maxSize;
         queueArray[rear] = item;
@@ -235,7 +520,7 @@ class EventQueue<T> extends DataManager {
         return true;
     }
     
-    public T dequeue() {
+    public synchronized T dequeue() {
         if (isEmpty()) return null;
         T item = queueArray[front];
         front = (front + 1) % maxSize;
@@ -243,16 +528,16 @@ class EventQueue<T> extends DataManager {
         return item;
     }
     
-    public boolean isEmpty() { return size == 0; }
-    public boolean isFull() { return size == maxSize; }
+    public synchronized boolean isEmpty() { return size == 0; }
+    public synchronized boolean isFull() { return size == maxSize; }
     
     @Override
-    public void displayInfo() {
+    public synchronized void displayInfo() {
         System.out.println("Internal Queue - Size: " + size + "/" + maxSize);
     }
     
     @Override
-    public int getCurrentSize() { return size; }
+    public synchronized int getCurrentSize() { return size; }
 }
 
 // Topic 9: Binary Tree Implementation (Internal - for date-based organization)
@@ -297,6 +582,42 @@ class EventBinaryTree extends DataManager {
         return root;
     }
     
+    public boolean remove(Event event) {
+        int before = nodeCount;
+        root = removeRecursive(root, event);
+        return nodeCount < before;
+    }
+    
+    // Topic 5: Recursion - BST deletion; equal dates live in the right subtree
+    private TreeNode removeRecursive(TreeNode node, Event event) {
+        if (node == null) return null;
+        
+        if (node.data == event) {
+            nodeCount--;
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            // Replace with in-order successor
+            TreeNode successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            node.data = successor.data;
+            node.right = removeMin(node.right);
+            return node;
+        }
+        
+        if (event.getDate().isBefore(node.data.getDate())) {
+            node.left = removeRecursive(node.left, event);
+        } else {
+            node.right = removeRecursive(node.right, event);
+        }
+        return node;
+    }
+    
+    private TreeNode removeMin(TreeNode node) {
+        if (node.left == null) return node.right;
+        node.left = removeMin(node.left);
+        return node;
+    }
+    
     public Event findByDate(LocalDate date) {
         return searchRecursive(root, date);
     }
@@ -353,488 +674,4752 @@ class StorageFullException extends EventSystemException {
     public StorageFullException(String message) { super(message); }
 }
 
-// Enhanced reminderManager with internal DSA implementations
-class reminderManager implements EventRepository {
-    // Topic 6: Arrays - Your original ArrayList + custom array
-    ArrayList<Event> arr;
-    private Event[] customArray;
-    private int arrayCapacity = 100;
-    private int arraySize = 0;
+// Secondary indexes used by the query planner (internal).
+// Events get a dense id so postings and status sets can be plain bitmaps.
+class EventIndex {
+    // Horizon used to expand recurring series when a query has no upper date bound
+    static final int OPEN_RANGE_EXPANSION_DAYS = 366;
+    // Most days of a single series expanded for one request, even for explicit ranges
+    static final int MAX_EXPANSION_DAYS = 10 * 366;
     
-    // Internal DSA structures (not exposed to frontend)
-    private EventLinkedList linkedStorage;
-    private EventStack<Event> undoStack;
-    private EventQueue<Event> processingQueue;
-    private EventBinaryTree dateTree;
+    private final Map<Event, Integer> ids = new IdentityHashMap<>();
     
-    public reminderManager() {
-        // Original ArrayList
-        arr = new ArrayList<>();
-        
-        // Topic 6: Arrays - Custom array
-        customArray = new Event[arrayCapacity];
-        
-        // Internal DSA structures
-        linkedStorage = new EventLinkedList();
-        undoStack = new EventStack<>(50);
-        processingQueue = new EventQueue<>(100);
-        dateTree = new EventBinaryTree();
+    // Open ranges (end = LocalDate.MAX) stop at the usual horizon, and no series is expanded
+    // for more than MAX_EXPANSION_DAYS, so one request cannot materialise millions of occurrences
+    static LocalDate expansionEnd(Event series, LocalDate start, LocalDate end) {
+        LocalDate first = series.getDate().isAfter(start) ? series.getDate() : start;
+        int span = end.equals(LocalDate.MAX) ? OPEN_RANGE_EXPANSION_DAYS : MAX_EXPANSION_DAYS;
+        LocalDate cap = first.plusDays(span);
+        return cap.isBefore(end) ? cap : end;
     }
+    private final ArrayList<Event> byId = new ArrayList<>();
+    private final TreeMap<LocalDate, List<Event>> dateIndex = new TreeMap<>();
+    private final Map<String, BitSet> trigramPostings = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet completed = new BitSet();
+    private final BitSet recurring = new BitSet();
     
-    // Your original methods (unchanged)
-    public void addEvent(Event e) {
-        arr.add(e);
-        
-        // Internal DSA operations (invisible to user)
-        storeInAllStructures(e);
-        
-        System.out.println("Event added to the list of events.!");
+    public void add(Event event) {
+        if (ids.containsKey(event)) return;
+        int id = byId.size();
+        ids.put(event, id);
+        byId.add(event);
+        live.set(id);
+        if (event.getEventStatus()) completed.set(id);
+        if (event.isRecurring()) recurring.set(id);
+        dateIndex.computeIfAbsent(event.getDate(), d -> new ArrayList<>()).add(event);
+        for (String trigram : trigrams(event.showTitle() + "\n" + event.showDescription())) {
+            trigramPostings.computeIfAbsent(trigram, t -> new BitSet()).set(id);
+        }
     }
     
-    // Topic 2: Control Flow - Method to store in all internal structures
-    private void storeInAllStructures(Event event) {
-        // Store in custom array
-        if (arraySize < arrayCapacity) {
-            customArray[arraySize++] = event;
+    public void remove(Event event) {
+        Integer id = ids.remove(event);
+        if (id == null) return;
+        byId.set(id, null);
+        live.clear(id);
+        completed.clear(id);
+        recurring.clear(id);
+        List<Event> sameDay = dateIndex.get(event.getDate());
+        if (sameDay != null) {
+            sameDay.removeIf(e -> e == event);
+            if (sameDay.isEmpty()) dateIndex.remove(event.getDate());
+        }
+        for (String trigram : trigrams(event.showTitle() + "\n" + event.showDescription())) {
+            BitSet postings = trigramPostings.get(trigram);
+            if (postings != null) {
+                postings.clear(id);
+                if (postings.isEmpty()) trigramPostings.remove(trigram);
+            }
         }
-        
-        // Store in linked list
-        linkedStorage.store(event);
-        
-        // Add to processing queue
-        processingQueue.enqueue(event);
-        
-        // Insert into binary tree
-        dateTree.insert(event);
     }
     
-    // Topic 6: Arrays - Internal search methods
-    private int linearSearch(String title) {
-        // Topic 2: Control Flow - For loop
-        for (int i = 0; i < arraySize; i++) {
-            if (customArray[i].showTitle().equalsIgnoreCase(title)) {
-                return i;
-            }
+    public void statusChanged(Event event) {
+        Integer id = ids.get(event);
+        if (id != null) completed.set(id, event.getEventStatus());
+    }
+    
+    static Set<String> trigrams(String text) {
+        String lower = text.toLowerCase();
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            result.add(lower.substring(i, i + 3));
         }
-        return -1;
+        return result;
     }
     
-    // Topic 6: Arrays - Binary search (internal)
-    private int binarySearchByDate(LocalDate date) {
-        sortArrayByDate();
-        
-        int left = 0, right = arraySize - 1;
-        // Topic 2: Control Flow - While loop
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            
-            LocalDate midDate = customArray[mid].getDate();
-            if (midDate.equals(date)) {
-                return mid;
-            }
-            if (midDate.isBefore(date)) {
-                left = mid + 1;
+    // Candidate ids whose text contains every trigram of the keyword; null when the keyword is too short
+    BitSet textCandidates(String keyword) {
+        if (keyword.length() < 3) return null;
+        BitSet result = null;
+        for (String trigram : trigrams(keyword)) {
+            BitSet postings = trigramPostings.get(trigram);
+            if (postings == null) return new BitSet();
+            if (result == null) {
+                result = (BitSet) postings.clone();
             } else {
-                right = mid - 1;
+                result.and(postings);
             }
         }
-        return -1;
+        return result;
     }
     
-    // Topic 6: Arrays - Bubble sort (internal)
-    private void sortArrayByDate() {
-        // Topic 2: Control Flow - Nested loops
-        for (int i = 0; i < arraySize - 1; i++) {
-            for (int j = 0; j < arraySize - i - 1; j++) {
-                if (customArray[j].getDate().isAfter(customArray[j + 1].getDate())) {
-                    // Swap
-                    Event temp = customArray[j];
-                    customArray[j] = customArray[j + 1];
-                    customArray[j + 1] = temp;
-                }
-            }
+    // Recurring series are always candidates: their occurrences have their own status
+    BitSet statusCandidates(boolean wantCompleted) {
+        BitSet result = (BitSet) live.clone();
+        if (wantCompleted) {
+            result.and(completed);
+        } else {
+            result.andNot(completed);
         }
+        result.or(recurring);
+        return result;
     }
     
-    public void viewEvents() {
-        if (arr.isEmpty()) {
-            System.out.println("They there is no event to be listed!");
-            return;
-        }
-        
-        // Topic 2: Control Flow - Enhanced loop
-        for (int i = 0; i < arr.size(); i++) {
-            System.out.println((i + 1) + ". " + arr.get(i).showTitle());
-            System.out.println("The Des: " + arr.get(i).showDescription());
+    // Number of non-recurring events dated in [from, to], counting no further than 'cap'
+    int countInRange(LocalDate from, LocalDate to, int cap) {
+        int count = 0;
+        for (List<Event> events : dateRange(from, to, false).values()) {
+            count += events.size();
+            if (count >= cap) break;
         }
+        return count;
     }
     
-    public void showEventAlreadyHappened() {
-        if (arr.isEmpty()) {
-            System.out.println("No event in the list");
-            return;
+    NavigableMap<LocalDate, List<Event>> dateRange(LocalDate from, LocalDate to, boolean descending) {
+        NavigableMap<LocalDate, List<Event>> range = dateIndex;
+        if (from != null && to != null) {
+            range = dateIndex.subMap(from, true, to, true);
+        } else if (from != null) {
+            range = dateIndex.tailMap(from, true);
+        } else if (to != null) {
+            range = dateIndex.headMap(to, true);
         }
-        
-        // Topic 2: Control Flow - Enhanced for loop with conditions
-        for (int i = 0; i < arr.size(); i++) {
-            if (arr.get(i).getEventStatus()) {
-                System.out.println((i + 1) + ". " + arr.get(i).showTitle());
-                System.out.println(arr.get(i).showDescription());
+        return descending ? range.descendingMap() : range;
+    }
+    
+    // Next page of events in date order after 'cursor', advancing it; weakly consistent across pages
+    // Series that started before the cursor's 'from' but still occur in range come first, in id
+    // order; then the date index is walked. Series are returned once, as the series itself.
+    List<Event> nextPage(ExportCursor cursor, LocalDate to, int pageSize) {
+        List<Event> page = new ArrayList<>();
+        if (cursor.from != null) {
+            LocalDate end = to == null ? LocalDate.MAX : to;
+            for (int id = recurring.nextSetBit(cursor.nextSeriesId); id >= 0; id = recurring.nextSetBit(id + 1)) {
+                if (page.size() >= pageSize) {
+                    cursor.nextSeriesId = id;
+                    return page;
+                }
+                Event series = byId.get(id);
+                if (series != null && series.getDate().isBefore(cursor.from)
+                        && series.getRecurrence().occursBetween(series.getDate(), cursor.from, end)) {
+                    page.add(series);
+                }
             }
+            cursor.nextSeriesId = Integer.MAX_VALUE;
         }
+        for (Map.Entry<LocalDate, List<Event>> day : dateRange(cursor.date, to, false).entrySet()) {
+            List<Event> events = day.getValue();
+            int i = day.getKey().equals(cursor.date) ? cursor.offset : 0;
+            while (i < events.size() && page.size() < pageSize) page.add(events.get(i++));
+            cursor.date = day.getKey();
+            cursor.offset = i;
+            if (page.size() >= pageSize) break;
+        }
+        return page;
     }
     
-    public void updateEventStatus(int ind) {
-        // Topic 5: Exception Handling
-        try {
-            if (ind <= 0 || ind > arr.size() || arr.isEmpty()) {
-                throw new EventNotFound("Event not found at index: " + ind);
+    Event byId(int id) { return byId.get(id); }
+    // Every id slot, with null for removed events; a random-access view for scans
+    List<Event> slots() { return Collections.unmodifiableList(byId); }
+    int slotCount() { return byId.size(); }
+    BitSet liveIds() { return (BitSet) live.clone(); }
+    BitSet recurringIds() { return (BitSet) recurring.clone(); }
+    int liveCount() { return live.cardinality(); }
+}
+
+// Position of a paged, date-ordered walk over the date index
+class ExportCursor {
+    final LocalDate from;
+    int nextSeriesId;   // next recurring id to check for series running into 'from'
+    LocalDate date;     // null = start of the index
+    int offset;         // events already returned for 'date'
+    
+    ExportCursor(LocalDate from) {
+        this.from = from;
+        this.date = from;
+    }
+}
+
+// Parsed form of the /api/events/query grammar:
+//   q     = term { [AND] term }      term = field ":" value (value may be "quoted")
+//   field = keyword | from | to | on | completed
+//   sort  = date | -date | title | -title        limit = positive integer
+class EventQuery {
+    String keyword;
+    String descriptionText;         // substring of the description; no index, always scanned
+    java.util.regex.Pattern pattern; // regex over title or description; applied last, under a deadline
+    LocalDate from, to;
+    Boolean completed;
+    String sortField;       // null = unspecified: date order for date walks and scans, insertion order otherwise
+    boolean descending;
+    int limit = Integer.MAX_VALUE;
+    
+    public static EventQuery parse(String q, String sort, String limit) {
+        EventQuery query = new EventQuery();
+        if (q != null) {
+            for (String term : tokenize(q)) {
+                if (term.equalsIgnoreCase("AND")) continue;
+                int colon = term.indexOf(':');
+                if (colon <= 0) throw new IllegalArgumentException("Expected field:value but got '" + term + "'");
+                String field = term.substring(0, colon).toLowerCase();
+                String value = term.substring(colon + 1);
+                switch (field) {
+                    case "keyword":
+                        query.keyword = value.toLowerCase();
+                        break;
+                    case "from":
+                        query.from = parseDate(value);
+                        break;
+                    case "to":
+                        query.to = parseDate(value);
+                        break;
+                    case "on":
+                        query.from = query.to = parseDate(value);
+                        break;
+                    case "completed":
+                        query.completed = Boolean.parseBoolean(value);
+                        break;
+                    case "description":
+                        query.descriptionText = value.toLowerCase();
+                        break;
+                    case "matches":
+                        query.pattern = java.util.regex.Pattern.compile(value, java.util.regex.Pattern.CASE_INSENSITIVE);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown field: " + field);
+                }
+            }
+        }
+        if (sort != null && !sort.isEmpty()) {
+            query.descending = sort.startsWith("-");
+            query.sortField = query.descending ? sort.substring(1) : sort;
+            if (!query.sortField.equals("date") && !query.sortField.equals("title")) {
+                throw new IllegalArgumentException("Unknown sort field: " + query.sortField);
             }
-            arr.get(ind - 1).setEventStatus(true);
-            System.out.println("Event marked as completed!");
-        } catch (EventNotFound e) {
-            System.err.println("Error: " + e.getMessage());
         }
+        if (limit != null && !limit.isEmpty()) {
+            query.limit = Integer.parseInt(limit);
+            if (query.limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        }
+        return query;
     }
     
-    public void removeEvent(int ind) {
-        try {
-            if (ind <= 0 || ind > arr.size() || arr.isEmpty()) {
-                throw new EventNotFound("Event not found at index: " + ind);
-            }
-            
-            Event removedEvent = arr.get(ind - 1);
-            
-            // Internal: Push to undo stack
-            undoStack.push(removedEvent);
-            
-            arr.remove(ind - 1);
-            System.out.println("Event removed!");
-            
-        } catch (EventNotFound e) {
-            System.err.println("Error: " + e.getMessage());
+    // Same bounds as stored events, so a query cannot ask for an unbounded expansion window
+    private static LocalDate parseDate(String value) {
+        LocalDate date = LocalDate.parse(value);
+        if (!EventWebServer.isSupportedDate(date)) {
+            throw new IllegalArgumentException("Date must be between " + EventWebServer.MIN_EVENT_DATE
+                    + " and " + EventWebServer.MAX_EVENT_DATE + ": " + value);
         }
+        return date;
     }
     
-    // Internal method: Undo using stack (not exposed in UI)
-    public boolean undoLastDelete() {
-        Event restoredEvent = undoStack.pop();
-        if (restoredEvent != null) {
-            arr.add(restoredEvent);
-            storeInAllStructures(restoredEvent);
-            return true;
+    private static List<String> tokenize(String q) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (char c : q.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) terms.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
         }
-        return false;
+        if (current.length() > 0) terms.add(current.toString());
+        return terms;
     }
     
-    // Internal method: Process next event using queue
-    public Event processNextEvent() {
-        return processingQueue.dequeue();
+    boolean hasDateRange() { return from != null || to != null; }
+    
+    // Window used to expand recurring series; an open upper bound is capped at a fixed horizon
+    LocalDate expandFrom() { return from != null ? from : LocalDate.MIN; }
+    LocalDate expandTo() { return to != null ? to : from.plusDays(EventIndex.OPEN_RANGE_EXPANSION_DAYS); }
+    
+    // Occurrences of a series inside the window, capped per series like getEventsByDateRange
+    // so that a far-away 'to' cannot expand millions of occurrences under the store lock
+    List<Event> occurrencesOf(Event series) {
+        LocalDate start = expandFrom();
+        return series.occurrencesBetween(start, EventIndex.expansionEnd(series, start, expandTo()));
     }
     
-    // Topic 5: Recursion - Count events recursively (internal)
-    public int countEventsRecursively() {
-        return countRecursiveHelper(arr, 0);
+    // Residual check applied to every materialized row, whichever index produced it
+    boolean matches(Event event) {
+        if (from != null && event.getDate().isBefore(from)) return false;
+        if (to != null && event.getDate().isAfter(to)) return false;
+        if (completed != null && event.getEventStatus() != completed) return false;
+        if (keyword != null && !event.showTitle().toLowerCase().contains(keyword)
+                && !event.showDescription().toLowerCase().contains(keyword)) return false;
+        if (descriptionText != null && !event.showDescription().toLowerCase().contains(descriptionText)) return false;
+        return true;
+    }
+    
+    // The same query minus the regex and the limit: the part that may run under the manager lock
+    EventQuery withoutPattern() {
+        EventQuery copy = new EventQuery();
+        copy.keyword = keyword;
+        copy.descriptionText = descriptionText;
+        copy.from = from;
+        copy.to = to;
+        copy.completed = completed;
+        copy.sortField = sortField;
+        copy.descending = descending;
+        return copy;
+    }
+    
+    static class PatternTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        PatternTimeoutException() { super("Pattern evaluation exceeded its time budget"); }
+    }
+    
+    // Applies the regex to rows already selected (and ordered) by withoutPattern(), then the limit.
+    // Client regexes can backtrack catastrophically, so matching gives up once 'budgetNanos' is spent.
+    List<Event> filterByPattern(List<Event> rows, long budgetNanos) {
+        if (pattern == null) return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        long deadline = System.nanoTime() + budgetNanos;
+        List<Event> result = new ArrayList<>();
+        for (Event event : rows) {
+            if (pattern.matcher(new DeadlineCharSequence(event.showTitle(), deadline)).find()
+                    || pattern.matcher(new DeadlineCharSequence(event.showDescription(), deadline)).find()) {
+                result.add(event);
+                if (result.size() >= limit) break;
+            }
+        }
+        return result;
+    }
+    
+    // Regex input that checks the clock every 1024 character reads
+    private static final class DeadlineCharSequence implements CharSequence {
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+        
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            if ((++reads & 1023) == 0 && System.nanoTime() > deadline) throw new PatternTimeoutException();
+            return text.charAt(index);
+        }
+        
+        @Override
+        public int length() { return text.length(); }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+        
+        @Override
+        public String toString() { return text.toString(); }
+    }
+    
+    Comparator<Event> comparator() {
+        if (sortField == null) return null;
+        Comparator<Event> comparator = sortField.equals("date")
+                ? Comparator.comparing(Event::getDate)
+                : Comparator.comparing((Event e) -> e.showTitle().toLowerCase());
+        return descending ? comparator.reversed() : comparator;
+    }
+}
+
+// Picks the most selective index for an EventQuery and evaluates the rest as residual filters
+class QueryPlanner {
+    private final EventIndex index;
+    private String lastPlan = "";
+    
+    public QueryPlanner(EventIndex index) {
+        this.index = index;
+    }
+    
+    public String getLastPlan() { return lastPlan; }
+    
+    public List<Event> execute(EventQuery query) {
+        BitSet textIds = query.keyword != null ? index.textCandidates(query.keyword) : null;
+        BitSet statusIds = query.completed != null ? index.statusCandidates(query.completed) : null;
+        
+        int best = index.liveCount();
+        String plan = "scan";
+        if (textIds != null && textIds.cardinality() < best) {
+            best = textIds.cardinality();
+            plan = "text";
+        }
+        if (statusIds != null && statusIds.cardinality() < best) {
+            best = statusIds.cardinality();
+            plan = "status";
+        }
+        // A date walk also yields rows in date order, so it wins ties when sorting by date
+        if (query.hasDateRange()) {
+            int inRange = index.countInRange(query.from, query.to, best + 1) + index.recurringIds().cardinality();
+            boolean dateOrdered = "date".equals(query.sortField) || query.sortField == null;
+            if (inRange < best || (inRange == best && dateOrdered)) plan = "date";
+        }
+        
+        if (plan.equals("date")) {
+            lastPlan = "date-range";
+            return walkDates(query);
+        }
+        if (plan.equals("scan")) {
+            // A limited scan that wants date order can walk the date index and stop early
+            boolean dateAscending = query.sortField == null || ("date".equals(query.sortField) && !query.descending);
+            if (dateAscending && query.limit < index.liveCount() && !query.hasDateRange()) {
+                lastPlan = "scan-limited";
+                return scanDates(query);
+            }
+            lastPlan = ParallelEventScan.runsInParallel(index.slotCount()) ? "parallel-scan" : "scan";
+            return scan(index.slots(), query);
+        }
+        
+        BitSet candidates = plan.equals("text") ? textIds : plan.equals("status") ? statusIds : index.liveIds();
+        if (textIds != null && candidates != textIds) candidates.and(textIds);
+        if (statusIds != null && candidates != statusIds) candidates.and(statusIds);
+        lastPlan = plan + (candidates.cardinality() < best ? "+intersect" : "");
+        return collect(query, candidates);
+    }
+    
+    // Date-ordered walk over the date index merged with expanded recurring occurrences.
+    // When the query is sorted by date (or unsorted), it stops as soon as 'limit' rows matched.
+    private List<Event> walkDates(EventQuery query) {
+        boolean descending = "date".equals(query.sortField) && query.descending;
+        List<Event> occurrences = new ArrayList<>();
+        BitSet recurringIds = index.recurringIds();
+        for (int id = recurringIds.nextSetBit(0); id >= 0; id = recurringIds.nextSetBit(id + 1)) {
+            for (Event occurrence : query.occurrencesOf(index.byId(id))) {
+                if (query.matches(occurrence)) occurrences.add(occurrence);
+            }
+        }
+        Comparator<Event> byDate = Comparator.comparing(Event::getDate);
+        occurrences.sort(descending ? byDate.reversed() : byDate);
+        
+        boolean earlyExit = query.sortField == null || "date".equals(query.sortField);
+        List<Event> result = new ArrayList<>();
+        int next = 0;
+        outer:
+        for (Map.Entry<LocalDate, List<Event>> day : index.dateRange(query.from, query.to, descending).entrySet()) {
+            while (next < occurrences.size() && (descending
+                    ? occurrences.get(next).getDate().isAfter(day.getKey())
+                    : occurrences.get(next).getDate().isBefore(day.getKey()))) {
+                result.add(occurrences.get(next++));
+                if (earlyExit && result.size() >= query.limit) break outer;
+            }
+            for (Event event : day.getValue()) {
+                if (event.isRecurring() || !query.matches(event)) continue;
+                result.add(event);
+                if (earlyExit && result.size() >= query.limit) break outer;
+            }
+        }
+        while (next < occurrences.size() && !(earlyExit && result.size() >= query.limit)) {
+            result.add(occurrences.get(next++));
+        }
+        
+        if (!earlyExit) return topK(result, query);
+        return result;
+    }
+    
+    // Same rows and order as scan() for queries without a date range, stopping at 'limit'
+    private List<Event> scanDates(EventQuery query) {
+        List<Event> result = new ArrayList<>();
+        for (List<Event> day : index.dateRange(null, null, false).values()) {
+            for (Event event : day) {
+                if (!query.matches(event)) continue;
+                result.add(event);
+                if (result.size() >= query.limit) return result;
+            }
+        }
+        return result;
+    }
+    
+    private List<Event> collect(EventQuery query, BitSet candidates) {
+        Comparator<Event> comparator = query.comparator();
+        List<Event> result = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Event event = index.byId(id);
+            if (event.isRecurring() && query.hasDateRange()) {
+                for (Event occurrence : query.occurrencesOf(event)) {
+                    if (query.matches(occurrence)) result.add(occurrence);
+                }
+            } else if (query.matches(event)) {
+                result.add(event);
+            }
+            if (comparator == null && result.size() >= query.limit) break;
+        }
+        return comparator == null ? result : topK(result, query);
+    }
+    
+    // Full pass over 'events' (also the fallback while indexes are still being built); rows come
+    // back in date order unless the query sorts otherwise
+    static List<Event> scan(List<Event> events, EventQuery query) {
+        List<Event> result = ParallelEventScan.scan(events, (event, out) -> {
+            if (event.isRecurring() && query.hasDateRange()) {
+                for (Event occurrence : query.occurrencesOf(event)) {
+                    if (query.matches(occurrence)) out.add(occurrence);
+                }
+            } else if (query.matches(event)) {
+                out.add(event);
+            }
+        });
+        boolean dateAscending = "date".equals(query.sortField) && !query.descending;
+        if (query.comparator() != null && !dateAscending) result.sort(query.comparator());
+        return result.size() > query.limit ? new ArrayList<>(result.subList(0, query.limit)) : result;
+    }
+    
+    // Bounded heap keeps only the best 'limit' rows instead of sorting everything
+    private List<Event> topK(List<Event> rows, EventQuery query) {
+        Comparator<Event> comparator = query.comparator();
+        if (query.limit >= rows.size()) {
+            rows.sort(comparator);
+            return rows;
+        }
+        PriorityQueue<Event> heap = new PriorityQueue<>(query.limit + 1, comparator.reversed());
+        for (Event row : rows) {
+            heap.offer(row);
+            if (heap.size() > query.limit) heap.poll();
+        }
+        List<Event> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+}
+
+// Scan path for predicates no index can answer (substring search over descriptions, ad-hoc
+// filters). Small inputs are scanned on the calling thread; large ones are split by their
+// spliterator into chunks run on the common fork-join pool, each leaf filling its own buffer,
+// and the date-sorted buffers are merged back pairwise. Both modes return the same rows in date
+// order (ties keep store order). The caller must keep 'events' unmodified for the duration.
+class ParallelEventScan {
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("eventflow.scan.parallelThreshold", 8192);
+    private static final int LEAF_SIZE = 1024;
+    private static final Comparator<Event> BY_DATE = Comparator.comparing(Event::getDate);
+    
+    static boolean runsInParallel(int size) {
+        return size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+    
+    // 'matcher' appends the rows produced by one event (none, the event, or its occurrences);
+    // it runs concurrently in parallel mode. Null entries (removed id slots) are skipped.
+    static List<Event> scan(List<Event> events, BiConsumer<Event, List<Event>> matcher) {
+        if (!runsInParallel(events.size())) {
+            List<Event> result = new ArrayList<>();
+            for (Event event : events) {
+                if (event != null) matcher.accept(event, result);
+            }
+            result.sort(BY_DATE);
+            return result;
+        }
+        return ForkJoinPool.commonPool().invoke(new ScanTask(events.spliterator(), matcher));
+    }
+    
+    private static class ScanTask extends RecursiveTask<List<Event>> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Spliterator<Event> chunk;
+        private final BiConsumer<Event, List<Event>> matcher;
+        
+        ScanTask(Spliterator<Event> chunk, BiConsumer<Event, List<Event>> matcher) {
+            this.chunk = chunk;
+            this.matcher = matcher;
+        }
+        
+        @Override
+        protected List<Event> compute() {
+            Spliterator<Event> prefix;
+            if (chunk.estimateSize() > LEAF_SIZE && (prefix = chunk.trySplit()) != null) {
+                ScanTask left = new ScanTask(prefix, matcher);
+                left.fork();
+                List<Event> right = compute();
+                return merge(left.join(), right);
+            }
+            List<Event> buffer = new ArrayList<>();
+            chunk.forEachRemaining(event -> {
+                if (event != null) matcher.accept(event, buffer);
+            });
+            buffer.sort(BY_DATE);
+            return buffer;
+        }
+    }
+    
+    // Stable merge of two date-sorted runs; 'left' holds the earlier part of the store
+    private static List<Event> merge(List<Event> left, List<Event> right) {
+        if (left.isEmpty()) return right;
+        if (right.isEmpty()) return left;
+        List<Event> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0, j = 0;
+        while (i < left.size() && j < right.size()) {
+            if (right.get(j).getDate().isBefore(left.get(i).getDate())) {
+                merged.add(right.get(j++));
+            } else {
+                merged.add(left.get(i++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+}
+
+// Cold tier: immutable on-disk segments of archived events.
+// Segment layout: MAGIC, deflated blocks of BLOCK_SIZE date-sorted records, then a sparse
+// index (first/last epoch day, offset, length, count per block) and its offset as the last 8 bytes.
+class EventArchive {
+    private static final int MAGIC = 0x45564732;        // "EVG2": length-prefixed UTF-8 strings
+    private static final int MAGIC_LEGACY = 0x45564753; // "EVGS": writeUTF strings (max 64 KB), read only
+    private static final int BLOCK_SIZE = 256;
+    
+    private static class Block {
+        long firstDay, lastDay, offset;
+        int length, count;
+    }
+    
+    // Opaque to callers outside the archive: returned by prepareSegment and handed back to publish
+    static class Segment {
+        final Path path;
+        final List<Block> blocks = new ArrayList<>();
+        int count;
+        boolean legacyStrings;
+        
+        Segment(Path path) {
+            this.path = path;
+        }
+        
+        long firstDay() { return blocks.get(0).firstDay; }
+        long lastDay() { return blocks.get(blocks.size() - 1).lastDay; }
+    }
+    
+    private final Path directory;
+    private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextSegment = new AtomicInteger();
+    
+    public EventArchive(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.seg")) {
+            List<Path> paths = new ArrayList<>();
+            files.forEach(paths::add);
+            Collections.sort(paths);
+            for (Path path : paths) {
+                segments.add(readIndex(path));
+                String name = path.getFileName().toString();
+                int number = Integer.parseInt(name.substring(8, name.length() - 4));
+                nextSegment.set(Math.max(nextSegment.get(), number + 1));
+            }
+        }
+    }
+    
+    // Writes the events as a new immutable segment (written to a temp file, then moved into place)
+    public void writeSegment(List<Event> events) throws IOException {
+        if (events.isEmpty()) return;
+        publish(prepareSegment(events));
+    }
+    
+    // Durably writes a segment file without making it visible to readers yet, so callers can do
+    // the IO first and publish together with their own bookkeeping
+    public Segment prepareSegment(List<Event> events) throws IOException {
+        List<Event> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(Event::getDate));
+        
+        int number = nextSegment.getAndIncrement();
+        Path path = directory.resolve(String.format("segment-%08d.seg", number));
+        Path temp = directory.resolve(path.getFileName() + ".tmp");
+        Segment segment = new Segment(path);
+        
+        try {
+            writeSegmentFile(temp, sorted, segment);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Leave no partial file behind and give the segment number back
+            Files.deleteIfExists(temp);
+            nextSegment.compareAndSet(number + 1, number);
+            throw e;
+        }
+        syncDirectory();
+        return segment;
+    }
+    
+    public void publish(Segment segment) {
+        segments.add(segment);
+    }
+    
+    // Drops a prepared segment that was never published
+    public void discard(Segment segment) throws IOException {
+        Files.deleteIfExists(segment.path);
+    }
+    
+    // Makes the rename itself durable; some platforms cannot open a directory, and then the
+    // file's own sync is all there is
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+    
+    // The data is synced before the file is renamed, so a crash never leaves a named but empty segment
+    private static void writeSegmentFile(Path temp, List<Event> sorted, Segment segment) throws IOException {
+        FileOutputStream file = new FileOutputStream(temp.toFile());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            long offset = 4;
+            for (int start = 0; start < sorted.size(); start += BLOCK_SIZE) {
+                List<Event> chunk = sorted.subList(start, Math.min(sorted.size(), start + BLOCK_SIZE));
+                byte[] compressed = compress(chunk);
+                out.write(compressed);
+                
+                Block block = new Block();
+                block.firstDay = chunk.get(0).getDate().toEpochDay();
+                block.lastDay = chunk.get(chunk.size() - 1).getDate().toEpochDay();
+                block.offset = offset;
+                block.length = compressed.length;
+                block.count = chunk.size();
+                segment.blocks.add(block);
+                segment.count += block.count;
+                offset += compressed.length;
+            }
+            
+            out.writeInt(segment.blocks.size());
+            for (Block block : segment.blocks) {
+                out.writeLong(block.firstDay);
+                out.writeLong(block.lastDay);
+                out.writeLong(block.offset);
+                out.writeInt(block.length);
+                out.writeInt(block.count);
+            }
+            out.writeLong(offset);
+            out.flush();
+            file.getFD().sync();
+        }
+    }
+    
+    private static byte[] compress(List<Event> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            for (Event event : events) {
+                writeString(out, event.showTitle());
+                writeString(out, event.showDescription());
+                out.writeLong(event.getDate().toEpochDay());
+                out.writeBoolean(event.getEventStatus());
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    // writeUTF is limited to 64 KB, so strings are stored as a length and UTF-8 bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static Segment readIndex(Path path) throws IOException {
+        Segment segment = new Segment(path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            int magic = file.readInt();
+            if (magic != MAGIC && magic != MAGIC_LEGACY) throw new IOException("Not an event segment: " + path);
+            segment.legacyStrings = magic == MAGIC_LEGACY;
+            file.seek(file.length() - 8);
+            file.seek(file.readLong());
+            int blockCount = file.readInt();
+            for (int i = 0; i < blockCount; i++) {
+                Block block = new Block();
+                block.firstDay = file.readLong();
+                block.lastDay = file.readLong();
+                block.offset = file.readLong();
+                block.length = file.readInt();
+                block.count = file.readInt();
+                segment.blocks.add(block);
+                segment.count += block.count;
+            }
+        }
+        return segment;
+    }
+    
+    // Reads archived events in [from, to] (either bound may be null), touching only overlapping blocks
+    public List<Event> read(LocalDate from, LocalDate to) throws IOException {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        List<Event> result = new ArrayList<>();
+        
+        for (Segment segment : segments) {
+            if (segment.lastDay() < fromDay || segment.firstDay() > toDay) continue;
+            try (RandomAccessFile file = new RandomAccessFile(segment.path.toFile(), "r")) {
+                for (int b = firstBlock(segment.blocks, fromDay); b < segment.blocks.size(); b++) {
+                    Block block = segment.blocks.get(b);
+                    if (block.firstDay > toDay) break;
+                    byte[] compressed = new byte[block.length];
+                    file.seek(block.offset);
+                    file.readFully(compressed);
+                    decode(compressed, block.count, fromDay, toDay, segment.legacyStrings, result);
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Event::getDate));
+        return result;
+    }
+    
+    // Topic 6: Binary search over the sparse index (blocks are date ordered)
+    private static int firstBlock(List<Block> blocks, long fromDay) {
+        int left = 0, right = blocks.size();
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (blocks.get(mid).lastDay < fromDay) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    private static void decode(byte[] compressed, int count, long fromDay, long toDay, boolean legacyStrings,
+                               List<Event> result) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            for (int i = 0; i < count; i++) {
+                String title = legacyStrings ? in.readUTF() : readString(in);
+                String description = legacyStrings ? in.readUTF() : readString(in);
+                long day = in.readLong();
+                boolean completed = in.readBoolean();
+                if (day < fromDay || day > toDay) continue;
+                Event event = new Event(title, description, LocalDate.ofEpochDay(day));
+                event.setEventStatus(completed);
+                event.markArchived();
+                result.add(event);
+            }
+        }
+    }
+    
+    // Streams archived events in [from, to] in date order: a k-way merge over the segments that
+    // holds one decoded block per segment in memory at a time
+    public ArchiveCursor cursor(LocalDate from, LocalDate to) throws IOException {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        return cursor(from, to, segments.size());
+    }
+    
+    // As above, over only the first 'segmentCount' segments (segments are only ever appended),
+    // so a caller can pin what it saw under its own lock and read the files afterwards
+    public ArchiveCursor cursor(LocalDate from, LocalDate to, int segmentCount) throws IOException {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        return new ArchiveCursor(new ArrayList<>(segments.subList(0, segmentCount)), fromDay, toDay);
+    }
+    
+    static class ArchiveCursor implements Iterator<Event>, Closeable {
+        private class SegmentReader {
+            final Segment segment;
+            final RandomAccessFile file;
+            int nextBlock;
+            final ArrayDeque<Event> buffered = new ArrayDeque<>();
+            
+            SegmentReader(Segment segment) throws IOException {
+                this.segment = segment;
+                this.file = new RandomAccessFile(segment.path.toFile(), "r");
+                this.nextBlock = firstBlock(segment.blocks, fromDay);
+            }
+            
+            // Loads blocks until one yields events in range; false once the segment is exhausted
+            boolean fill() throws IOException {
+                while (buffered.isEmpty() && nextBlock < segment.blocks.size()) {
+                    Block block = segment.blocks.get(nextBlock++);
+                    if (block.firstDay > toDay) {
+                        nextBlock = segment.blocks.size();
+                        break;
+                    }
+                    byte[] compressed = new byte[block.length];
+                    file.seek(block.offset);
+                    file.readFully(compressed);
+                    List<Event> events = new ArrayList<>();
+                    decode(compressed, block.count, fromDay, toDay, segment.legacyStrings, events);
+                    buffered.addAll(events);
+                }
+                return !buffered.isEmpty();
+            }
+        }
+        
+        private final long fromDay, toDay;
+        private final List<SegmentReader> readers = new ArrayList<>();
+        private final PriorityQueue<SegmentReader> heap =
+                new PriorityQueue<>(Comparator.comparing((SegmentReader r) -> r.buffered.peekFirst().getDate()));
+        
+        ArchiveCursor(List<Segment> segments, long fromDay, long toDay) throws IOException {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            try {
+                for (Segment segment : segments) {
+                    if (segment.lastDay() < fromDay || segment.firstDay() > toDay) continue;
+                    SegmentReader reader = new SegmentReader(segment);
+                    readers.add(reader);
+                    if (reader.fill()) heap.add(reader);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() { return !heap.isEmpty(); }
+        
+        // Date of the event next() would return
+        public LocalDate peekDate() {
+            SegmentReader reader = heap.peek();
+            if (reader == null) throw new NoSuchElementException();
+            return reader.buffered.peekFirst().getDate();
+        }
+        
+        @Override
+        public Event next() {
+            SegmentReader reader = heap.poll();
+            if (reader == null) throw new NoSuchElementException();
+            Event event = reader.buffered.pollFirst();
+            try {
+                if (reader.fill()) heap.add(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return event;
+        }
+        
+        @Override
+        public void close() {
+            for (SegmentReader reader : readers) {
+                try {
+                    reader.file.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+    
+    public int count() {
+        int total = 0;
+        for (Segment segment : segments) total += segment.count;
+        return total;
+    }
+    
+    public int segmentCount() { return segments.size(); }
+}
+
+// Topic 6: Arrays - Fenwick (binary indexed) tree over a contiguous range of epoch days.
+// The range grows by rebuilding when an event falls outside it.
+class EpochDayFenwickTree {
+    // Dense window limit (~180 years); days it cannot reach are counted in a sparse map instead
+    static final int MAX_CAPACITY = 1 << 16;
+    
+    // Outlier days are summed by a second Fenwick tree over every representable epoch day,
+    // which stores only the nodes it has touched
+    private static final long SPARSE_ORIGIN = LocalDate.MIN.toEpochDay() - 1;
+    private static final long SPARSE_SIZE = LocalDate.MAX.toEpochDay() - SPARSE_ORIGIN;
+    
+    private long baseDay;
+    private long[] tree;    // 1-based Fenwick array
+    private long[] counts;  // raw per-day counts, kept for rebuilding
+    private final TreeMap<Long, Long> outliers = new TreeMap<>();    // raw counts, for moving into the window
+    private final HashMap<Long, Long> outlierTree = new HashMap<>();
+    
+    public EpochDayFenwickTree(long baseDay, int capacity) {
+        this.baseDay = baseDay;
+        this.tree = new long[capacity + 1];
+        this.counts = new long[capacity];
+    }
+    
+    public void add(LocalDate date, long delta) {
+        long day = date.toEpochDay();
+        if (!ensureCovers(day)) {
+            outliers.merge(day, delta, (a, b) -> a + b == 0 ? null : a + b);
+            addOutlier(day, delta);
+            return;
+        }
+        int i = (int) (day - baseDay);
+        counts[i] += delta;
+        for (int j = i + 1; j < tree.length; j += j & -j) tree[j] += delta;
+    }
+    
+    // Sum of counts for every day up to and including 'date'
+    public long prefixSum(LocalDate date) {
+        long day = date.toEpochDay();
+        long sum = 0;
+        for (long j = day - SPARSE_ORIGIN; j > 0; j -= j & -j) sum += outlierTree.getOrDefault(j, 0L);
+        if (day < baseDay) return sum;
+        int i = (int) Math.min(day - baseDay, counts.length - 1);
+        for (int j = i + 1; j > 0; j -= j & -j) sum += tree[j];
+        return sum;
+    }
+    
+    public long rangeSum(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) return 0;
+        return prefixSum(to) - (from.equals(LocalDate.MIN) ? 0 : prefixSum(from.minusDays(1)));
+    }
+    
+    private void addOutlier(long day, long delta) {
+        for (long j = day - SPARSE_ORIGIN; j <= SPARSE_SIZE; j += j & -j) {
+            outlierTree.merge(j, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+    
+    // Grows the dense window to cover 'day'; false if that would exceed MAX_CAPACITY
+    private boolean ensureCovers(long day) {
+        if (day >= baseDay && day < baseDay + counts.length) return true;
+        long newBase = Math.min(baseDay, day);
+        long newEnd = Math.max(baseDay + counts.length, day + 1);
+        if (newEnd - newBase > MAX_CAPACITY) return false;
+        int capacity = counts.length;
+        while (capacity < newEnd - newBase) capacity = Math.min(capacity * 2, MAX_CAPACITY);
+        // Grow on the side that overflowed
+        if (day < baseDay) newBase = baseDay + counts.length - capacity;
+        
+        long[] newCounts = new long[capacity];
+        System.arraycopy(counts, 0, newCounts, (int) (baseDay - newBase), counts.length);
+        // Sparse days now inside the window move into it
+        Map<Long, Long> covered = outliers.subMap(newBase, true, newBase + capacity, false);
+        for (Map.Entry<Long, Long> entry : covered.entrySet()) {
+            newCounts[(int) (entry.getKey() - newBase)] += entry.getValue();
+            addOutlier(entry.getKey(), -entry.getValue());
+        }
+        covered.clear();
+        long[] newTree = new long[capacity + 1];
+        // O(n) Fenwick construction
+        for (int i = 1; i <= capacity; i++) {
+            newTree[i] += newCounts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) newTree[parent] += newTree[i];
+        }
+        baseDay = newBase;
+        counts = newCounts;
+        tree = newTree;
+        return true;
+    }
+}
+
+// Incrementally maintained analytics: every reminderManager mutation updates these counters,
+// so /api/stats answers in O(log n) per figure, plus O(1) per recurring series, however much
+// history exists. Totals count a recurring series once, as the stored event; date-based figures
+// count the occurrences of each series that fall in the window, worked out at query time.
+class EventStats {
+    // What is known about one series: its own status, plus occurrences completed one at a time
+    private static class SeriesCounts {
+        boolean completed;
+        final TreeSet<LocalDate> completedDates = new TreeSet<>();
+    }
+    
+    private final EpochDayFenwickTree all;
+    private final EpochDayFenwickTree completed;
+    private final Map<Event, SeriesCounts> series = new IdentityHashMap<>();
+    private long total, completedTotal;
+    private long completedOccurrences;
+    
+    public EventStats() {
+        long today = LocalDate.now().toEpochDay();
+        all = new EpochDayFenwickTree(today - 512, 1024);
+        completed = new EpochDayFenwickTree(today - 512, 1024);
+    }
+    
+    public void added(Event event) {
+        added(event, event.getEventStatus(), event.completedOccurrenceDates());
+    }
+    
+    public void added(Event event, boolean isCompleted) {
+        added(event, isCompleted, Collections.emptyList());
+    }
+    
+    // Status passed explicitly so replayed updates count what was true at mutation time
+    public void added(Event event, boolean isCompleted, List<LocalDate> completedOccurrenceDates) {
+        total++;
+        if (isCompleted) completedTotal++;
+        if (event.isRecurring()) {
+            SeriesCounts counts = new SeriesCounts();
+            counts.completed = isCompleted;
+            counts.completedDates.addAll(completedOccurrenceDates);
+            completedOccurrences += counts.completedDates.size();
+            series.put(event, counts);
+            return;
+        }
+        all.add(event.getDate(), 1);
+        if (isCompleted) completed.add(event.getDate(), 1);
+    }
+    
+    public void removed(Event event) {
+        removed(event, event.getEventStatus());
+    }
+    
+    public void removed(Event event, boolean isCompleted) {
+        total--;
+        if (isCompleted) completedTotal--;
+        if (event.isRecurring()) {
+            SeriesCounts counts = series.remove(event);
+            if (counts != null) completedOccurrences -= counts.completedDates.size();
+            return;
+        }
+        all.add(event.getDate(), -1);
+        if (isCompleted) completed.add(event.getDate(), -1);
+    }
+    
+    public void completed(Event event) {
+        completedTotal++;
+        SeriesCounts counts = series.get(event);
+        if (counts != null) {
+            counts.completed = true;
+            return;
+        }
+        completed.add(event.getDate(), 1);
+    }
+    
+    public void occurrenceCompleted(Event event, LocalDate occurrenceDate) {
+        SeriesCounts counts = series.get(event);
+        if (counts != null && counts.completedDates.add(occurrenceDate)) completedOccurrences++;
+    }
+    
+    public long getTotal() { return total; }
+    public long getCompleted() { return completedTotal; }
+    
+    // Events and series occurrences dated in [from, to]
+    public long count(LocalDate from, LocalDate to) {
+        long sum = all.rangeSum(from, to);
+        for (Event event : series.keySet()) {
+            sum += event.getRecurrence().countBetween(event.getDate(), from, to);
+        }
+        return sum;
+    }
+    
+    public long completedCount(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) return 0;
+        long sum = completed.rangeSum(from, to);
+        for (Map.Entry<Event, SeriesCounts> entry : series.entrySet()) {
+            Event event = entry.getKey();
+            SeriesCounts counts = entry.getValue();
+            sum += counts.completed
+                    ? event.getRecurrence().countBetween(event.getDate(), from, to)
+                    : counts.completedDates.subSet(from, true, to, true).size();
+        }
+        return sum;
+    }
+    
+    // Pending events and occurrences dated before today
+    public long overdue(LocalDate today) {
+        LocalDate yesterday = today.minusDays(1);
+        return count(LocalDate.MIN, yesterday) - completedCount(LocalDate.MIN, yesterday);
+    }
+    
+    // Pending events and occurrences dated in [today, today + days)
+    public long upcoming(LocalDate today, int days) {
+        LocalDate last = today.plusDays(days - 1);
+        return count(today, last) - completedCount(today, last);
+    }
+    
+    // Pending events dated today or later; series occurrences only up to the usual expansion
+    // horizon, since an unbounded series never runs out
+    public long upcoming(LocalDate today) {
+        long pending = all.rangeSum(today, LocalDate.MAX) - completed.rangeSum(today, LocalDate.MAX);
+        LocalDate horizon = today.plusDays(EventIndex.OPEN_RANGE_EXPANSION_DAYS - 1);
+        for (Map.Entry<Event, SeriesCounts> entry : series.entrySet()) {
+            Event event = entry.getKey();
+            SeriesCounts counts = entry.getValue();
+            if (counts.completed) continue;
+            pending += event.getRecurrence().countBetween(event.getDate(), today, horizon)
+                    - counts.completedDates.subSet(today, true, horizon, true).size();
+        }
+        return pending;
+    }
+    
+    // 'complete' is false while archived history is still being loaded at startup
+    public String toJson(LocalDate today, int upcomingDays, LocalDate from, LocalDate to, String granularity,
+                         boolean complete) {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+                "{\"complete\":%b,\"total\":%d,\"completed\":%d,\"pending\":%d,\"completionRate\":%.4f,\"overdue\":%d," +
+                        "\"upcoming\":%d,\"upcomingWithinDays\":{\"days\":%d,\"count\":%d},\"completedOccurrences\":%d," +
+                        "\"granularity\":\"%s\",\"buckets\":[",
+                complete, total, completedTotal, total - completedTotal, total == 0 ? 0.0 : (double) completedTotal / total,
+                overdue(today), upcoming(today), upcomingDays, upcoming(today, upcomingDays), completedOccurrences,
+                granularity));
+        
+        LocalDate bucketStart = alignToBucket(from, granularity);
+        for (int i = 0; !bucketStart.isAfter(to) && i < MAX_BUCKETS; i++) {
+            LocalDate next = nextBucket(bucketStart, granularity);
+            LocalDate bucketEnd = next.minusDays(1).isAfter(to) ? to : next.minusDays(1);
+            LocalDate start = bucketStart.isBefore(from) ? from : bucketStart;
+            if (i > 0) json.append(",");
+            json.append(String.format("{\"start\":\"%s\",\"count\":%d,\"completed\":%d}",
+                    bucketStart, count(start, bucketEnd), completedCount(start, bucketEnd)));
+            bucketStart = next;
+        }
+        return json.append("]}").toString();
+    }
+    
+    private static final int MAX_BUCKETS = 1000;
+    
+    private static LocalDate alignToBucket(LocalDate date, String granularity) {
+        switch (granularity) {
+            case "week": return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month": return date.withDayOfMonth(1);
+            default: return date;
+        }
+    }
+    
+    private static LocalDate nextBucket(LocalDate bucketStart, String granularity) {
+        switch (granularity) {
+            case "week": return bucketStart.plusWeeks(1);
+            case "month": return bucketStart.plusMonths(1);
+            default: return bucketStart.plusDays(1);
+        }
+    }
+}
+
+// Topic 4: Advanced OOP - Callback interface for store mutations
+interface EventChangeListener {
+    void onEventChanged(String change, Event event);
+}
+
+// Writes events in an export format; callers stream one event at a time
+class EventExportWriter {
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private final Writer out;
+    private final String format;
+    private final String stamp;
+    private long written;
+    // Identical events on one date share a content UID; they are told apart by their position
+    private LocalDate uidDate;
+    private final Map<String, Integer> uidsOnDate = new HashMap<>();
+    
+    public EventExportWriter(Writer out, String format) {
+        if (!Arrays.asList("csv", "jsonl", "ics").contains(format)) {
+            throw new IllegalArgumentException("Unknown export format: " + format);
+        }
+        this.out = out;
+        this.format = format;
+        this.stamp = java.time.ZonedDateTime.now(java.time.ZoneOffset.UTC)
+                .format(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'"));
+    }
+    
+    public static String contentType(String format) {
+        switch (format) {
+            case "csv": return "text/csv; charset=utf-8";
+            case "ics": return "text/calendar; charset=utf-8";
+            default: return "application/x-ndjson; charset=utf-8";
+        }
+    }
+    
+    public void begin() throws IOException {
+        if (format.equals("csv")) {
+            out.write("title,description,date,completed,recurrence\r\n");
+        } else if (format.equals("ics")) {
+            out.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//EventFlow//Export//EN\r\n");
+        }
+    }
+    
+    public void write(Event event) throws IOException {
+        written++;
+        String recurrence = event.isRecurring() ? event.getRecurrence().toRRule() : "";
+        switch (format) {
+            case "csv":
+                out.write(csv(event.showTitle()) + "," + csv(event.showDescription()) + "," + event.getDate()
+                        + "," + event.getEventStatus() + "," + csv(recurrence) + "\r\n");
+                break;
+            case "jsonl":
+                out.write(event.toJson());
+                out.write("\n");
+                break;
+            default:
+                out.write("BEGIN:VEVENT\r\n");
+                out.write(fold("UID:" + uid(event, recurrence) + "@eventflow"));
+                out.write("DTSTAMP:" + stamp + "\r\n");
+                out.write("DTSTART;VALUE=DATE:" + event.getDate().format(ICS_DATE) + "\r\n");
+                if (!recurrence.isEmpty()) out.write("RRULE:" + recurrence + "\r\n");
+                out.write(fold("SUMMARY:" + icsText(event.showTitle())));
+                out.write(fold("DESCRIPTION:" + icsText(event.showDescription())));
+                out.write("X-EVENTFLOW-COMPLETED:" + (event.getEventStatus() ? "TRUE" : "FALSE") + "\r\n");
+                out.write("END:VEVENT\r\n");
+        }
+    }
+    
+    public void end() throws IOException {
+        if (format.equals("ics")) out.write("END:VCALENDAR\r\n");
+        out.flush();
+    }
+    
+    public long getWritten() { return written; }
+    
+    // RFC 4180 quoting
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    
+    // RFC 5545 TEXT escaping
+    private static String icsText(String value) {
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\n", "\\n");
+    }
+    
+    // RFC 5545 line folding at 75 characters
+    // RFC 5545 folding: at most 75 octets of UTF-8 per line, the continuation's leading space
+    // included, split only between code points
+    private static String fold(String line) {
+        StringBuilder folded = new StringBuilder();
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > 75) {
+                folded.append("\r\n ");
+                octets = 1;
+            }
+            folded.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        return folded.append("\r\n").toString();
+    }
+    
+    // Derived from what the event is, not from when it was written, so re-exports and archiving
+    // keep the UID that calendar clients already hold; completion does not change it
+    private String uid(Event event, String recurrence) {
+        String key = event.showTitle() + "\n" + event.showDescription() + "\n" + event.getDate() + "\n" + recurrence;
+        String digest;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) hex.append(String.format("%02x", hash[i]));
+            digest = hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+        if (!event.getDate().equals(uidDate)) {
+            uidDate = event.getDate();
+            uidsOnDate.clear();
+        }
+        int seen = uidsOnDate.merge(digest, 1, Integer::sum) - 1;
+        return seen == 0 ? digest : digest + "-" + seen;
+    }
+}
+
+// Enhanced reminderManager with internal DSA implementations.
+// Thread-safe: public methods synchronize on the manager, and callers that need several calls
+// (or a returned live Event) to be atomic hold the same lock, as the web handlers do
+class reminderManager implements EventRepository {
+    // Topic 6: Arrays - Your original ArrayList + custom array
+    ArrayList<Event> arr;
+    private Event[] customArray;
+    private int arrayCapacity = 100;
+    private int arraySize = 0;
+    
+    // Internal DSA structures (not exposed to frontend)
+    private EventLinkedList linkedStorage;
+    private EventStack<Event> undoStack;
+    private EventQueue<Event> processingQueue;
+    private EventBinaryTree dateTree;
+    private EventIndex index;
+    private QueryPlanner planner;
+    private EventStats stats;
+    private EventChangeListener changeListener = (change, event) -> { };
+    // Non-null while secondary indexes are rebuilt in the background; updates queue here meanwhile
+    private volatile List<BiConsumer<EventIndex, EventStats>> pendingIndexUpdates;
+    // Streaming exports in progress; archiving waits for them
+    private int activeExports;
+    
+    public reminderManager() {
+        // Original ArrayList
+        arr = new ArrayList<>();
+        
+        // Topic 6: Arrays - Custom array
+        customArray = new Event[arrayCapacity];
+        
+        // Internal DSA structures
+        linkedStorage = new EventLinkedList();
+        undoStack = new EventStack<>(50);
+        processingQueue = new EventQueue<>(100);
+        dateTree = new EventBinaryTree();
+        index = new EventIndex();
+        planner = new QueryPlanner(index);
+        stats = new EventStats();
+    }
+    
+    // Your original methods (unchanged)
+    public synchronized void addEvent(Event e) {
+        arr.add(e);
+        
+        // Internal DSA operations (invisible to user)
+        storeInAllStructures(e);
+        
+        changeListener.onEventChanged("added", e);
+        System.out.println("Event added to the list of events.!");
+    }
+    
+    // Topic 2: Control Flow - Method to store in all internal structures
+    private void storeInAllStructures(Event event) {
+        // Store in custom array
+        if (arraySize < arrayCapacity) {
+            customArray[arraySize++] = event;
+        }
+        
+        // Store in linked list
+        linkedStorage.store(event);
+        
+        // Add to processing queue
+        processingQueue.enqueue(event);
+        
+        // Insert into binary tree
+        dateTree.insert(event);
+        
+        // Secondary indexes for the query planner and analytics aggregates
+        boolean isCompleted = event.getEventStatus();
+        List<LocalDate> completedOccurrences = event.completedOccurrenceDates();
+        updateIndexes((i, st) -> {
+            i.add(event);
+            st.added(event, isCompleted, completedOccurrences);
+        });
+    }
+    
+    // Topic 6: Arrays - Internal search methods
+    private int linearSearch(String title) {
+        // Topic 2: Control Flow - For loop
+        for (int i = 0; i < arraySize; i++) {
+            if (customArray[i].showTitle().equalsIgnoreCase(title)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    // Topic 6: Arrays - Binary search (internal)
+    private int binarySearchByDate(LocalDate date) {
+        sortArrayByDate();
+        
+        int left = 0, right = arraySize - 1;
+        // Topic 2: Control Flow - While loop
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            
+            LocalDate midDate = customArray[mid].getDate();
+            if (midDate.equals(date)) {
+                return mid;
+            }
+            if (midDate.isBefore(date)) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+    
+    // Topic 6: Arrays - Bubble sort (internal)
+    private void sortArrayByDate() {
+        // Topic 2: Control Flow - Nested loops
+        for (int i = 0; i < arraySize - 1; i++) {
+            for (int j = 0; j < arraySize - i - 1; j++) {
+                if (customArray[j].getDate().isAfter(customArray[j + 1].getDate())) {
+                    // Swap
+                    Event temp = customArray[j];
+                    customArray[j] = customArray[j + 1];
+                    customArray[j + 1] = temp;
+                }
+            }
+        }
+    }
+    
+    public synchronized void viewEvents() {
+        if (arr.isEmpty()) {
+            System.out.println("They there is no event to be listed!");
+            return;
+        }
+        
+        // Topic 2: Control Flow - Enhanced loop
+        for (int i = 0; i < arr.size(); i++) {
+            System.out.println((i + 1) + ". " + arr.get(i).showTitle());
+            System.out.println("The Des: " + arr.get(i).showDescription());
+        }
+    }
+    
+    public synchronized void showEventAlreadyHappened() {
+        if (arr.isEmpty()) {
+            System.out.println("No event in the list");
+            return;
+        }
+        
+        // Topic 2: Control Flow - Enhanced for loop with conditions
+        for (int i = 0; i < arr.size(); i++) {
+            if (arr.get(i).getEventStatus()) {
+                System.out.println((i + 1) + ". " + arr.get(i).showTitle());
+                System.out.println(arr.get(i).showDescription());
+            }
+        }
+    }
+    
+    // 1-based position of the event with this id, or -1 once it was deleted or archived.
+    // Positions shift when background archiving removes events; ids do not.
+    public synchronized int indexOfId(long id) {
+        for (int i = 0; i < arr.size(); i++) {
+            if (arr.get(i).getId() == id) return i + 1;
+        }
+        return -1;
+    }
+    
+    public synchronized void updateEventStatus(int ind) {
+        // Topic 5: Exception Handling
+        try {
+            if (ind <= 0 || ind > arr.size() || arr.isEmpty()) {
+                throw new EventNotFound("Event not found at index: " + ind);
+            }
+            Event event = arr.get(ind - 1);
+            if (!event.getEventStatus()) {
+                event.setEventStatus(true);
+                updateIndexes((i, st) -> {
+                    i.statusChanged(event);
+                    st.completed(event);
+                });
+                changeListener.onEventChanged("completed", event);
+            }
+            System.out.println("Event marked as completed!");
+        } catch (EventNotFound e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+    
+    public synchronized void removeEvent(int ind) {
+        try {
+            if (ind <= 0 || ind > arr.size() || arr.isEmpty()) {
+                throw new EventNotFound("Event not found at index: " + ind);
+            }
+            
+            Event removedEvent = arr.get(ind - 1);
+            
+            // Internal: Push to undo stack
+            undoStack.push(removedEvent);
+            
+            arr.remove(ind - 1);
+            removeFromInternalStructures(removedEvent);
+            boolean wasCompleted = removedEvent.getEventStatus();
+            updateIndexes((i, st) -> {
+                i.remove(removedEvent);
+                st.removed(removedEvent, wasCompleted);
+            });
+            changeListener.onEventChanged("removed", removedEvent);
+            System.out.println("Event removed!");
+            
+        } catch (EventNotFound e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+    
+    // Undo re-stores into every structure, so a deleted event must leave all of them
+    private void removeFromInternalStructures(Event event) {
+        dateTree.remove(event);
+        linkedStorage.removeMatching(e -> e == event);
+        for (int i = 0; i < arraySize; i++) {
+            if (customArray[i] == event) {
+                System.arraycopy(customArray, i + 1, customArray, i, arraySize - i - 1);
+                customArray[--arraySize] = null;
+                break;
+            }
+        }
+    }
+    
+    // Internal method: Undo using stack (not exposed in UI)
+    public synchronized boolean undoLastDelete() {
+        Event restoredEvent = undoStack.pop();
+        if (restoredEvent != null) {
+            arr.add(restoredEvent);
+            storeInAllStructures(restoredEvent);
+            changeListener.onEventChanged("restored", restoredEvent);
+            return true;
+        }
+        return false;
+    }
+    
+    // Internal method: Process next event using queue
+    public synchronized Event processNextEvent() {
+        return processingQueue.dequeue();
+    }
+    
+    // Topic 5: Recursion - Count events recursively (internal)
+    public synchronized int countEventsRecursively() {
+        return countRecursiveHelper(arr, 0);
     }
     
     private int countRecursiveHelper(List<Event> events, int index) {
         if (index >= events.size()) {
             return 0;
         }
-        return 1 + countRecursiveHelper(events, index + 1);
+        return 1 + countRecursiveHelper(events, index + 1);
+    }
+    
+    // Advanced filtering using internal structures
+    // Recurring series are expanded lazily, only for occurrences inside [start, end]
+    public synchronized List<Event> getEventsByDateRange(LocalDate start, LocalDate end) {
+        List<Event> result = new ArrayList<>();
+        List<Event> sortedEvents = dateTree.getSortedEvents();
+        boolean expanded = false;
+        
+        // Topic 2: Control Flow - Enhanced for loop
+        for (Event event : sortedEvents) {
+            if (event.getDate().isAfter(end)) break;
+            if (event.isRecurring()) {
+                result.addAll(event.occurrencesBetween(start, EventIndex.expansionEnd(event, start, end)));
+                expanded = true;
+            } else if (!event.getDate().isBefore(start)) {
+                result.add(event);
+            }
+        }
+        if (expanded) {
+            result.sort(Comparator.comparing(Event::getDate));
+        }
+        return result;
+    }
+    
+    // Reminder path: pending (not completed) occurrences due within the next 'days' days
+    public synchronized List<Event> getDueReminders(LocalDate from, int days) {
+        List<Event> due = new ArrayList<>();
+        for (Event event : getEventsByDateRange(from, from.plusDays(days))) {
+            if (!event.getEventStatus()) due.add(event);
+        }
+        return due;
+    }
+    
+    // Marks a single occurrence of a recurring event as completed
+    public synchronized void completeOccurrence(int ind, LocalDate occurrenceDate) {
+        try {
+            if (ind <= 0 || ind > arr.size() || arr.isEmpty()) {
+                throw new EventNotFound("Event not found at index: " + ind);
+            }
+            Event series = arr.get(ind - 1);
+            boolean wasCompleted = series.isRecurring() && series.occurrence(occurrenceDate).getEventStatus();
+            if (!series.completeOccurrence(occurrenceDate)) {
+                throw new EventNotFound("No occurrence on " + occurrenceDate + " for event at index: " + ind);
+            }
+            if (!wasCompleted) {
+                updateIndexes((i, st) -> {
+                    i.statusChanged(series);
+                    st.occurrenceCompleted(series, occurrenceDate);
+                });
+                changeListener.onEventChanged("completed", series.occurrence(occurrenceDate));
+            }
+            System.out.println("Occurrence marked as completed!");
+        } catch (EventNotFound e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+    
+    // Hot/cold tiering: non-recurring events that are completed and past, or older than the
+    // grace period, move out of every in-memory structure into a new archive segment.
+    // The segment is compressed and written without the lock, from copies taken under it; it is
+    // published and the events removed in one locked step, unless one of them changed meanwhile.
+    // Runs are skipped while an export is streaming, which must see the hot set it started with.
+    public int archiveColdEvents(EventArchive archive, LocalDate today, int graceDays) throws IOException {
+        LocalDate cutoff = today.minusDays(graceDays);
+        List<Event> candidates = new ArrayList<>();
+        List<Event> copies = new ArrayList<>();
+        synchronized (this) {
+            if (activeExports > 0) return 0;
+            for (Event event : arr) {
+                if (event.isRecurring()) continue;
+                boolean past = event.getDate().isBefore(today);
+                if ((past && event.getEventStatus()) || event.getDate().isBefore(cutoff)) {
+                    Event copy = new Event(event.showTitle(), event.showDescription(), event.getDate());
+                    copy.setEventStatus(event.getEventStatus());
+                    candidates.add(event);
+                    copies.add(copy);
+                }
+            }
+        }
+        if (candidates.isEmpty()) return 0;
+        
+        // Persist first so a failed write leaves the hot set untouched
+        EventArchive.Segment segment = archive.prepareSegment(copies);
+        
+        Set<Event> cold = Collections.newSetFromMap(new IdentityHashMap<>());
+        cold.addAll(candidates);
+        synchronized (this) {
+            Set<Event> live = Collections.newSetFromMap(new IdentityHashMap<>());
+            live.addAll(arr);
+            boolean unchanged = activeExports == 0;
+            for (int i = 0; i < candidates.size() && unchanged; i++) {
+                Event event = candidates.get(i);
+                unchanged = live.contains(event) && event.getEventStatus() == copies.get(i).getEventStatus();
+            }
+            if (unchanged) {
+                archive.publish(segment);
+                removeArchived(cold);
+            } else {
+                cold.clear();
+            }
+        }
+        if (cold.isEmpty()) {
+            // Deleted or completed while the segment was written, or an export started; the next
+            // run picks them up again
+            archive.discard(segment);
+            return 0;
+        }
+        System.out.println("Archived " + cold.size() + " event(s).");
+        return cold.size();
+    }
+    
+    // Exports release the lock between pages; archiving skips its run while any is active
+    public synchronized void beginExport() { activeExports++; }
+    public synchronized void endExport() { activeExports--; }
+    
+    private void removeArchived(Set<Event> cold) {
+        arr.removeIf(cold::contains);
+        linkedStorage.removeMatching(cold::contains);
+        for (Event event : cold) {
+            dateTree.remove(event);
+            updateIndexes((i, st) -> i.remove(event));
+        }
+        int kept = 0;
+        for (int i = 0; i < arraySize; i++) {
+            if (!cold.contains(customArray[i])) customArray[kept++] = customArray[i];
+        }
+        Arrays.fill(customArray, kept, arraySize, null);
+        arraySize = kept;
+    }
+    
+    // Composite query (keyword AND date range AND status, sorted, limited) through the planner.
+    // A regex is applied last; callers that must not hold the lock while it runs (the web
+    // handler) query withoutPattern() here and call filterByPattern() themselves
+    public synchronized List<Event> query(EventQuery query) {
+        if (query.pattern != null) return query.filterByPattern(query(query.withoutPattern()), REGEX_BUDGET_NANOS);
+        if (!indexesReady()) {
+            lastScanFallback = true;
+            return QueryPlanner.scan(arr, query);
+        }
+        lastScanFallback = false;
+        return planner.execute(query);
+    }
+    
+    private boolean lastScanFallback;
+    
+    static final long REGEX_BUDGET_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("eventflow.query.regexTimeoutMillis", 1000));
+    
+    public synchronized String getLastQueryPlan() { return lastScanFallback ? "scan (indexes building)" : planner.getLastPlan(); }
+    
+    public synchronized void setChangeListener(EventChangeListener listener) { this.changeListener = listener; }
+    
+    public boolean indexesReady() { return pendingIndexUpdates == null; }
+    
+    // One page of the date index for streaming export (call with the manager locked)
+    public synchronized List<Event> nextExportPage(ExportCursor cursor, LocalDate to, int pageSize) {
+        return index.nextPage(cursor, to, pageSize);
+    }
+    
+    // Applies an index/stats update now, or queues it while a rebuild is in progress
+    private void updateIndexes(BiConsumer<EventIndex, EventStats> update) {
+        if (pendingIndexUpdates != null) {
+            pendingIndexUpdates.add(update);
+        } else {
+            update.accept(index, stats);
+        }
+    }
+    
+    // Events and their statuses as of the start of an index rebuild
+    static class IndexSnapshot {
+        final List<Event> events;
+        final boolean[] completed;
+        final List<List<LocalDate>> completedOccurrences = new ArrayList<>();
+        
+        IndexSnapshot(List<Event> events) {
+            this.events = events;
+            this.completed = new boolean[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                completed[i] = events.get(i).getEventStatus();
+                completedOccurrences.add(events.get(i).completedOccurrenceDates());
+            }
+        }
+    }
+    
+    // Step 1 of a rebuild: from now on updates are queued, and the store is snapshotted
+    public synchronized IndexSnapshot beginIndexRebuild() {
+        if (pendingIndexUpdates == null) pendingIndexUpdates = new ArrayList<>();
+        return new IndexSnapshot(new ArrayList<>(arr));
+    }
+    
+    // Step 2: build fresh indexes off-lock from the snapshot plus archived history (which counts
+    // towards analytics only and is streamed, never held in memory), then replay queued updates
+    // and swap them in under the lock
+    public void finishIndexRebuild(IndexSnapshot snapshot, Iterator<Event> archivedEvents) {
+        EventIndex newIndex = new EventIndex();
+        EventStats newStats = new EventStats();
+        for (int i = 0; i < snapshot.events.size(); i++) {
+            newIndex.add(snapshot.events.get(i));
+            newStats.added(snapshot.events.get(i), snapshot.completed[i], snapshot.completedOccurrences.get(i));
+        }
+        try {
+            while (archivedEvents.hasNext()) newStats.added(archivedEvents.next());
+        } catch (UncheckedIOException e) {
+            System.err.println("Archive read failed, stats include archived events read so far: " + e.getMessage());
+        }
+        
+        synchronized (this) {
+            for (BiConsumer<EventIndex, EventStats> update : pendingIndexUpdates) update.accept(newIndex, newStats);
+            index = newIndex;
+            stats = newStats;
+            planner = new QueryPlanner(newIndex);
+            pendingIndexUpdates = null;
+        }
+    }
+    
+    // While indexes are building, stats come from a scan of the hot set (archived history missing)
+    public synchronized EventStats getStats() {
+        if (indexesReady()) return stats;
+        EventStats scanned = new EventStats();
+        for (Event event : arr) scanned.added(event);
+        return scanned;
+    }
+    
+    // Smart search over the main array, in date order; large stores are scanned in parallel
+    public synchronized List<Event> smartSearch(String keyword) {
+        String needle = keyword.toLowerCase();
+        return ParallelEventScan.scan(arr, (event, out) -> {
+            if (event.showTitle().toLowerCase().contains(needle) ||
+                event.showDescription().toLowerCase().contains(needle)) {
+                out.add(event);
+            }
+        });
+    }
+    
+    // EventRepository interface implementation
+    @Override
+    public synchronized void store(Event event) { addEvent(event); }
+    
+    @Override
+    public synchronized Event retrieve(int index) {
+        try {
+            return linkedStorage.retrieve(index);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public synchronized boolean remove(int index) {
+        if (index > 0 && index <= arr.size()) {
+            removeEvent(index);
+            return true;
+        }
+        return false;
+    }
+    
+    @Override
+    public synchronized int count() { return arr.size(); }
+    
+    public synchronized List<Event> getAllEvents() { return new ArrayList<>(arr); }
+    
+    public synchronized String getAllEventsJson() {
+        if (arr.isEmpty()) return "[]";
+        StringBuilder json = new StringBuilder("[");
+        
+        // Topic 2: Control Flow - For loop with condition
+        for (int i = 0; i < arr.size(); i++) {
+            json.append(arr.get(i).toJson());
+            if (i < arr.size() - 1) json.append(",");
+        }
+        json.append("]");
+        return json.toString();
+    }
+    
+    // Internal diagnostic method
+    public synchronized void printInternalStats() {
+        System.out.println("=== Internal System Status ===");
+        System.out.println("ArrayList size: " + arr.size());
+        System.out.println("Custom array size: " + arraySize + "/" + arrayCapacity);
+        linkedStorage.displayInfo();
+        undoStack.displayInfo();
+        processingQueue.displayInfo();
+        dateTree.displayInfo();
+        EventStats current = getStats();
+        System.out.println("Stats - Total: " + current.getTotal() + ", Completed: " + current.getCompleted()
+                + ", Overdue: " + current.overdue(LocalDate.now()));
+        System.out.println("Secondary indexes: " + (indexesReady() ? "ready" : "building"));
+    }
+}
+
+// Admission control (1/3): per-client token bucket, implemented lock-free as GCRA.
+// Each bucket is a single "theoretical arrival time" updated with CAS; a full bucket is one
+// whose TAT lies in the past, so idle clients cost nothing until evicted.
+// At most MAX_CLIENTS buckets exist; when all of them are still refilling, a new client is
+// turned away rather than resetting someone else's bucket.
+class TokenBucketRateLimiter {
+    private static final int MAX_CLIENTS = 10_000;
+    // Buckets checked for eviction per new client once the table is full
+    private static final int EVICTION_BATCH = 32;
+    
+    private final long emissionIntervalNanos;   // time to earn back one token
+    private final long burstToleranceNanos;     // bucket capacity expressed as time
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // Clients in bucket creation order; eviction walks it round-robin (guarded by itself)
+    private final ArrayDeque<String> evictionOrder = new ArrayDeque<>();
+    
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+    }
+    
+    // Returns 0 when a token was taken, otherwise the nanoseconds until one is available
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = newBucket(client, now);
+            if (bucket == null) return emissionIntervalNanos;
+        }
+        
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long waitNanos = newTat - now - burstToleranceNanos - emissionIntervalNanos;
+            if (waitNanos > 0) return waitNanos;
+            if (bucket.compareAndSet(tat, newTat)) return 0;
+        }
+    }
+    
+    // Creation is serialized so the cap holds exactly; existing clients never take this lock.
+    // Returns null when the table is full and no checked bucket could be evicted.
+    private AtomicLong newBucket(String client, long now) {
+        synchronized (evictionOrder) {
+            AtomicLong bucket = buckets.get(client);
+            if (bucket != null) return bucket;
+            if (buckets.size() >= MAX_CLIENTS) evictFullBuckets(now);
+            if (buckets.size() >= MAX_CLIENTS) return null;
+            bucket = new AtomicLong(now);
+            buckets.put(client, bucket);
+            evictionOrder.addLast(client);
+            return bucket;
+        }
+    }
+    
+    // Bounded work per call: the oldest few buckets are checked, full ones (which a fresh bucket
+    // would reproduce exactly) are dropped and the rest move to the back of the queue
+    private void evictFullBuckets(long now) {
+        for (int i = 0; i < EVICTION_BATCH && !evictionOrder.isEmpty(); i++) {
+            String client = evictionOrder.pollFirst();
+            AtomicLong bucket = buckets.get(client);
+            if (bucket.get() <= now) {
+                buckets.remove(client);
+            } else {
+                evictionOrder.addLast(client);
+            }
+        }
+    }
+    
+    public int trackedClients() { return buckets.size(); }
+}
+
+// Admission control (2/3): global in-flight limit adapted from observed latency (AIMD).
+// The limit grows while latency stays near the best seen and shrinks when requests start queueing.
+class AdaptiveConcurrencyLimiter {
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int MIN_LATENCY_WINDOW = 1000;
+    private static final long CONGESTED_FLOOR_NANOS = 1_000_000;
+    
+    private final int minLimit, maxLimit;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong minLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger samples = new AtomicInteger();
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+    
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+    
+    public void release(long latencyNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        
+        // Re-probe the no-load latency periodically so the baseline can drift upwards
+        if (samples.incrementAndGet() % MIN_LATENCY_WINDOW == 0) {
+            minLatencyNanos.set(latencyNanos);
+        } else {
+            minLatencyNanos.accumulateAndGet(latencyNanos, Math::min);
+        }
+        
+        // Only samples taken while the limit is actually in use say anything about capacity;
+        // sub-millisecond jitter on an idle server must not shrink the limit
+        if (concurrent * 2 < limit.get()) return;
+        boolean congested = latencyNanos > Math.max(LATENCY_TOLERANCE * minLatencyNanos.get(), CONGESTED_FLOOR_NANOS);
+        if (congested) {
+            limit.updateAndGet(l -> Math.max(minLimit, (int) (l * BACKOFF_RATIO)));
+        } else {
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+    
+    public int getLimit() { return limit.get(); }
+    public int getInFlight() { return inFlight.get(); }
+}
+
+// Admission control (3/3): HttpHandler decorator answering 429 + Retry-After when over budget
+class AdmissionController {
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedRateLimited = new LongAdder();
+    private final LongAdder rejectedConcurrency = new LongAdder();
+    
+    public AdmissionController(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+    
+    public static AdmissionController fromSystemProperties() {
+        double rps = Double.parseDouble(System.getProperty("eventflow.rateLimit.rps", "50"));
+        int burst = Integer.getInteger("eventflow.rateLimit.burst", 100);
+        int maxConcurrency = Integer.getInteger("eventflow.maxConcurrency", 256);
+        return new AdmissionController(new TokenBucketRateLimiter(rps, burst),
+                new AdaptiveConcurrencyLimiter(Math.min(16, maxConcurrency), 1, maxConcurrency));
+    }
+    
+    // Keys the server issued, from -Deventflow.apiKeys (comma separated); empty = none
+    private static final Set<String> API_KEYS = parseApiKeys(System.getProperty("eventflow.apiKeys", ""));
+    
+    static Set<String> parseApiKeys(String property) {
+        Set<String> keys = new HashSet<>();
+        for (String key : property.split(",")) {
+            if (!key.trim().isEmpty()) keys.add(key.trim());
+        }
+        return keys;
+    }
+    
+    // Clients are identified by API key only when it is one the server issued, otherwise by
+    // IP address; an unverified header would let a client pick a fresh bucket per request
+    static String clientKey(HttpExchange exchange) {
+        String apiKey = exchange.getRequestHeaders().getFirst("X-API-Key");
+        if (apiKey != null && API_KEYS.contains(apiKey)) return "key:" + apiKey;
+        InetSocketAddress remote = exchange.getRemoteAddress();
+        return remote == null ? "unknown" : "ip:" + remote.getAddress().getHostAddress();
+    }
+    
+    public Guarded guard(HttpHandler handler) {
+        return new Guarded(handler);
+    }
+    
+    // Admission and execution are separate steps so a transport can admit a request on its
+    // dispatch thread, before the request waits for a worker; queued requests then count
+    // against the concurrency limit and their queueing time shows up in the latency samples
+    class Guarded implements HttpHandler {
+        private final HttpHandler handler;
+        
+        Guarded(HttpHandler handler) {
+            this.handler = handler;
+        }
+        
+        // Returns the admission time, or -1 after answering 429
+        public long admit(HttpExchange exchange) throws IOException {
+            long waitNanos = rateLimiter.tryAcquire(clientKey(exchange));
+            if (waitNanos > 0) {
+                rejectedRateLimited.increment();
+                reject(exchange, (waitNanos + 999_999_999L) / 1_000_000_000L);
+                return -1;
+            }
+            if (!concurrencyLimiter.tryAcquire()) {
+                rejectedConcurrency.increment();
+                reject(exchange, 1);
+                return -1;
+            }
+            admitted.increment();
+            return System.nanoTime();
+        }
+        
+        public void handleAdmitted(HttpExchange exchange, long admittedAt) throws IOException {
+            try {
+                handler.handle(exchange);
+            } finally {
+                concurrencyLimiter.release(System.nanoTime() - admittedAt);
+            }
+        }
+        
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            long admittedAt = admit(exchange);
+            if (admittedAt >= 0) handleAdmitted(exchange, admittedAt);
+        }
+    }
+    
+    private void reject(HttpExchange exchange, long retryAfterSeconds) throws IOException {
+        String response = "{\"success\": false, \"message\": \"Too many requests\"}";
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+        exchange.sendResponseHeaders(429, response.length());
+        exchange.getResponseBody().write(response.getBytes());
+        exchange.getResponseBody().close();
+    }
+    
+    public String metricsJson() {
+        return String.format("{\"admitted\":%d,\"rejectedRateLimited\":%d,\"rejectedConcurrency\":%d," +
+                        "\"concurrencyLimit\":%d,\"inFlight\":%d,\"trackedClients\":%d}",
+                admitted.sum(), rejectedRateLimited.sum(), rejectedConcurrency.sum(),
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight(), rateLimiter.trackedClients());
+    }
+}
+
+// Outbound notification: a due reminder or a change to an event
+class Notification {
+    final String kind;      // "reminder", "added", "completed", "removed", "restored"
+    final Event event;
+    final long createdAt = System.currentTimeMillis();
+    
+    Notification(String kind, Event event) {
+        this.kind = kind;
+        this.event = event;
+    }
+    
+    // Later notifications about the same event replace earlier ones within a batch
+    String coalesceKey() {
+        return event.identityKey();
+    }
+    
+    String subject() {
+        return kind.equals("reminder")
+                ? "Reminder: " + event.showTitle() + " on " + event.getDate()
+                : "Event " + kind + ": " + event.showTitle();
+    }
+    
+    String toJson() {
+        return String.format("{\"kind\":\"%s\",\"createdAt\":%d,\"event\":%s}", kind, createdAt, event.toJson());
+    }
+}
+
+// Topic 4: Advanced OOP - Interface for pluggable delivery targets
+interface NotificationSink {
+    // Identifies the recipient; notifications are coalesced and batched per sink
+    String recipient();
+    void deliver(List<Notification> batch) throws IOException;
+}
+
+// POSTs each batch as a JSON array
+class WebhookSink implements NotificationSink {
+    private final URI endpoint;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    
+    public WebhookSink(URI endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    @Override
+    public String recipient() { return "webhook:" + endpoint; }
+    
+    @Override
+    public void deliver(List<Notification> batch) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < batch.size(); i++) {
+            json.append(batch.get(i).toJson());
+            if (i < batch.size() - 1) json.append(",");
+        }
+        json.append("]");
+        
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Webhook responded with status " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Webhook delivery interrupted", e);
+        }
+    }
+}
+
+// Sends each batch as a single digest e-mail over plain SMTP
+class SmtpSink implements NotificationSink {
+    private final String host;
+    private final int port;
+    private final String from, to;
+    
+    public SmtpSink(String host, int port, String from, String to) {
+        this.host = host;
+        this.port = port;
+        this.from = from;
+        this.to = to;
+    }
+    
+    @Override
+    public String recipient() { return "smtp:" + to; }
+    
+    @Override
+    public void deliver(List<Notification> batch) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), 5000);
+            socket.setSoTimeout(10_000);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            
+            expect(in, "220");
+            command(out, in, "HELO eventflow", "250");
+            command(out, in, "MAIL FROM:<" + from + ">", "250");
+            command(out, in, "RCPT TO:<" + to + ">", "250");
+            command(out, in, "DATA", "354");
+            
+            StringBuilder message = new StringBuilder();
+            message.append("From: ").append(from).append("\r\n");
+            message.append("To: ").append(to).append("\r\n");
+            message.append("Subject: ").append(headerValue(batch.size() == 1 ? batch.get(0).subject()
+                    : batch.size() + " event notifications")).append("\r\n\r\n");
+            for (Notification notification : batch) {
+                String text = notification.subject() + " - " + notification.event.showDescription();
+                // Titles and descriptions may hold any line breaks: normalise them all to CRLF and
+                // dot-stuff every resulting line (RFC 5321), so no line can end DATA early
+                for (String line : text.split("\r\n|\r|\n", -1)) {
+                    message.append(line.startsWith(".") ? "." + line : line).append("\r\n");
+                }
+            }
+            message.append(".");
+            command(out, in, message.toString(), "250");
+            command(out, in, "QUIT", "221");
+        }
+    }
+    
+    // Header values are client text: a CR or LF would start a new header
+    static String headerValue(String value) {
+        return value.replaceAll("[\r\n]+", " ");
+    }
+    
+    private static void command(Writer out, BufferedReader in, String line, String expected) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+        expect(in, expected);
+    }
+    
+    private static void expect(BufferedReader in, String expected) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) throw new IOException("SMTP connection closed");
+        } while (line.length() > 3 && line.charAt(3) == '-'); // multi-line reply
+        if (!line.startsWith(expected)) throw new IOException("SMTP expected " + expected + " but got: " + line);
+    }
+}
+
+// Appends each notification as a JSON line
+class FileSink implements NotificationSink {
+    private final Path file;
+    
+    public FileSink(Path file) {
+        this.file = file;
+    }
+    
+    @Override
+    public String recipient() { return "file:" + file; }
+    
+    @Override
+    public void deliver(List<Notification> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Notification notification : batch) lines.append(notification.toJson()).append("\n");
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
+
+// Delivery pipeline: producers only offer() into a bounded queue, so HTTP handler threads never block.
+// A dispatcher drains the queue on a fixed tick, coalesces per recipient, and hands batches to a
+// delivery pool that retries with exponential backoff before giving up to the dead-letter queue.
+class NotificationPipeline implements EventChangeListener {
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int DEAD_LETTER_CAPACITY = 1_000;
+    
+    private final List<NotificationSink> sinks;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final BlockingQueue<Notification> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Map<String, LinkedHashMap<String, Notification>> pending = new HashMap<>();
+    private final ConcurrentLinkedDeque<Notification> deadLetters = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService dispatcher;
+    private final ScheduledExecutorService delivery;
+    
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    public NotificationPipeline(List<NotificationSink> sinks, int maxBatch, int maxAttempts,
+                                long baseBackoffMillis, long flushIntervalMillis) {
+        this.sinks = sinks;
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(daemon("notify-dispatch"));
+        this.delivery = Executors.newScheduledThreadPool(Math.max(1, sinks.size()), daemon("notify-deliver"));
+        dispatcher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    // Sinks come from system properties; returns null when none are configured
+    public static NotificationPipeline fromSystemProperties() {
+        List<NotificationSink> sinks = new ArrayList<>();
+        String webhook = System.getProperty("eventflow.notify.webhook");
+        if (webhook != null) sinks.add(new WebhookSink(URI.create(webhook)));
+        String smtp = System.getProperty("eventflow.notify.smtp");
+        if (smtp != null) {
+            String[] hostPort = smtp.split(":");
+            sinks.add(new SmtpSink(hostPort[0], hostPort.length > 1 ? Integer.parseInt(hostPort[1]) : 25,
+                    System.getProperty("eventflow.notify.smtpFrom", "eventflow@localhost"),
+                    System.getProperty("eventflow.notify.smtpTo", "user@localhost")));
+        }
+        String file = System.getProperty("eventflow.notify.file");
+        if (file != null) sinks.add(new FileSink(Paths.get(file)));
+        if (sinks.isEmpty()) return null;
+        
+        return new NotificationPipeline(sinks,
+                Integer.getInteger("eventflow.notify.maxBatch", 50),
+                Integer.getInteger("eventflow.notify.maxAttempts", 5),
+                Long.getLong("eventflow.notify.backoffMillis", 1000),
+                Long.getLong("eventflow.notify.flushMillis", 2000));
+    }
+    
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    @Override
+    public void onEventChanged(String change, Event event) {
+        submit(new Notification(change, event));
+    }
+    
+    // Never blocks: when the queue is full the notification is counted and dropped
+    public boolean submit(Notification notification) {
+        if (queue.offer(notification)) return true;
+        dropped.increment();
+        return false;
+    }
+    
+    // Runs on the dispatcher thread only
+    void flush() {
+        List<Notification> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        for (Notification notification : drained) {
+            for (NotificationSink sink : sinks) {
+                pending.computeIfAbsent(sink.recipient(), r -> new LinkedHashMap<>())
+                        .put(notification.coalesceKey(), notification);
+            }
+        }
+        
+        for (NotificationSink sink : sinks) {
+            LinkedHashMap<String, Notification> coalesced = pending.remove(sink.recipient());
+            if (coalesced == null || coalesced.isEmpty()) continue;
+            List<Notification> all = new ArrayList<>(coalesced.values());
+            for (int start = 0; start < all.size(); start += maxBatch) {
+                List<Notification> batch = new ArrayList<>(all.subList(start, Math.min(all.size(), start + maxBatch)));
+                delivery.execute(() -> attempt(sink, batch, 1));
+            }
+        }
+    }
+    
+    private void attempt(NotificationSink sink, List<Notification> batch, int attemptNumber) {
+        try {
+            sink.deliver(batch);
+            delivered.add(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failedAttempts.increment();
+            if (attemptNumber >= maxAttempts) {
+                System.err.println("Giving up on " + batch.size() + " notification(s) to " + sink.recipient()
+                        + ": " + e);
+                for (Notification notification : batch) deadLetter(notification);
+                return;
+            }
+            // Exponential backoff with jitter: base * 2^(attempt-1) * [0.5, 1.5)
+            long backoff = (long) (baseBackoffMillis * (1L << (attemptNumber - 1))
+                    * (0.5 + ThreadLocalRandom.current().nextDouble()));
+            delivery.schedule(() -> attempt(sink, batch, attemptNumber + 1), backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void deadLetter(Notification notification) {
+        deadLettered.increment();
+        deadLetters.addLast(notification);
+        while (deadLetters.size() > DEAD_LETTER_CAPACITY) deadLetters.pollFirst();
+    }
+    
+    public List<Notification> getDeadLetters() { return new ArrayList<>(deadLetters); }
+    
+    public void shutdown() {
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        delivery.shutdown();
+    }
+    
+    public String metricsJson() {
+        return String.format("{\"queued\":%d,\"delivered\":%d,\"failedAttempts\":%d,\"deadLettered\":%d,\"dropped\":%d}",
+                queue.size(), delivered.sum(), failedAttempts.sum(), deadLettered.sum(), dropped.sum());
+    }
+}
+
+// Cached outcome of a write request, replayed for retries carrying the same Idempotency-Key
+class IdempotentResponse {
+    final int status;
+    final byte[] body;
+    final String contentType;
+    
+    IdempotentResponse(int status, byte[] body, String contentType) {
+        this.status = status;
+        this.body = body;
+        this.contentType = contentType;
+    }
+}
+
+// Bounded, time-expiring concurrent cache of recent idempotency keys.
+// Every entry has the same TTL, so insertion order is also expiry order: a FIFO of keys drives
+// both expiry and the entry/byte caps with O(1) amortized work per write.
+class IdempotencyCache {
+    static final int MAX_KEY_LENGTH = 255;
+    // Rough per-entry cost (map node, deque slot, object headers) on top of key, fingerprint and body
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    
+    private static class Entry {
+        final String key;
+        final String fingerprint;
+        final long expiresAt;
+        volatile IdempotentResponse response;   // null while the first request is still running
+        long bytes;         // guarded by insertionOrder, like 'counted'
+        boolean counted;    // whether 'bytes' is currently part of cachedBytes
+        
+        Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+            this.bytes = 2L * (key.length() + fingerprint.length()) + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry> insertionOrder = new ArrayDeque<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long maxBytes;
+    
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    
+    public IdempotencyCache(long ttlMillis, int maxEntries, long maxBytes) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    public static IdempotencyCache fromSystemProperties() {
+        return new IdempotencyCache(
+                Long.getLong("eventflow.idempotency.ttlSeconds", 24 * 60 * 60) * 1000,
+                Integer.getInteger("eventflow.idempotency.maxEntries", 100_000),
+                Long.getLong("eventflow.idempotency.maxBytes", 64L * 1024 * 1024));
+    }
+    
+    // SHA-256 over method, URI and body: a 32-bit hash would let a different request collide
+    // with a cached one and be answered with its response instead of a 422
+    static String fingerprint(HttpExchange exchange, byte[] requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((exchange.getRequestMethod() + " " + exchange.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest(requestBody));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+    
+    // Wraps a write handler: the first request with a key runs, retries get the recorded response
+    public HttpHandler wrap(HttpHandler handler) {
+        return exchange -> {
+            String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            if (key == null || key.isEmpty()) {
+                handler.handle(exchange);
+                return;
+            }
+            if (key.length() > MAX_KEY_LENGTH) {
+                respond(exchange, 400, "{\"success\": false, \"message\": \"Idempotency-Key longer than "
+                        + MAX_KEY_LENGTH + " characters\"}");
+                return;
+            }
+            
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String fingerprint = fingerprint(exchange, requestBody);
+            String scopedKey = AdmissionController.clientKey(exchange) + "|" + key;
+            
+            long now = System.currentTimeMillis();
+            Entry fresh = new Entry(scopedKey, fingerprint, now + ttlMillis);
+            Entry[] expired = new Entry[1];
+            Entry existing = entries.compute(scopedKey, (k, current) -> {
+                if (current != null && current.expiresAt > now) return current;
+                expired[0] = current;
+                return fresh;
+            });
+            
+            if (existing != fresh) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    conflicts.increment();
+                    respond(exchange, 422, "{\"success\": false, \"message\": \"Idempotency-Key reused for a different request\"}");
+                } else if (existing.response == null) {
+                    conflicts.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    respond(exchange, 409, "{\"success\": false, \"message\": \"Request with this Idempotency-Key is in progress\"}");
+                } else {
+                    replayed.increment();
+                    replay(exchange, existing.response);
+                }
+                return;
+            }
+            
+            executed.increment();
+            synchronized (insertionOrder) {
+                if (expired[0] != null) uncount(expired[0]);
+                insertionOrder.addLast(fresh);
+                fresh.counted = true;
+                cachedBytes.addAndGet(fresh.bytes);
+            }
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            OutputStream original = exchange.getResponseBody();
+            exchange.setStreams(new ByteArrayInputStream(requestBody), new FilterOutputStream(original) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    original.write(b, off, len);
+                    captured.write(b, off, len);
+                }
+                
+                @Override
+                public void write(int b) throws IOException {
+                    original.write(b);
+                    captured.write(b);
+                }
+            });
+            
+            boolean completed = false;
+            try {
+                handler.handle(exchange);
+                completed = exchange.getResponseCode() > 0 && exchange.getResponseCode() < 500;
+            } finally {
+                if (completed) {
+                    IdempotentResponse response = new IdempotentResponse(exchange.getResponseCode(),
+                            captured.toByteArray(), exchange.getResponseHeaders().getFirst("Content-Type"));
+                    synchronized (insertionOrder) {
+                        fresh.response = response;
+                        fresh.bytes += response.body.length;
+                        // Only count bytes for entries that were not evicted while running
+                        if (fresh.counted) cachedBytes.addAndGet(response.body.length);
+                    }
+                } else {
+                    // Failed attempts are not remembered, so the client's retry runs again;
+                    // the dead deque slot is dropped by evict()
+                    synchronized (insertionOrder) {
+                        if (entries.remove(scopedKey, fresh)) uncount(fresh);
+                    }
+                }
+                evict(System.currentTimeMillis());
+            }
+        };
+    }
+    
+    // Drops expired entries from the head, then the oldest ones while over the entry or byte cap.
+    // Slots of failed or replaced entries die in the middle of the deque; once they outnumber
+    // live entries the deque is compacted, so failing requests cannot grow it without bound.
+    private void evict(long now) {
+        synchronized (insertionOrder) {
+            if (insertionOrder.size() > 2 * entries.size() + 1024) {
+                insertionOrder.removeIf(entry -> {
+                    if (entries.get(entry.key) == entry) return false;
+                    uncount(entry);
+                    return true;
+                });
+            }
+            Entry head;
+            while ((head = insertionOrder.peekFirst()) != null) {
+                boolean live = entries.get(head.key) == head;
+                boolean overCap = entries.size() > maxEntries || cachedBytes.get() > maxBytes;
+                if (live && head.expiresAt > now && !overCap) break;
+                insertionOrder.pollFirst();
+                if (live && entries.remove(head.key, head)) evicted.increment();
+                uncount(head);
+            }
+        }
+    }
+    
+    // Caller holds insertionOrder
+    private void uncount(Entry entry) {
+        if (!entry.counted) return;
+        entry.counted = false;
+        cachedBytes.addAndGet(-entry.bytes);
+    }
+    
+    private static void replay(HttpExchange exchange, IdempotentResponse response) throws IOException {
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Idempotent-Replayed", "true");
+        if (response.contentType != null) exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+        if (response.body.length > 0) exchange.getResponseBody().write(response.body);
+        exchange.getResponseBody().close();
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length());
+        exchange.getResponseBody().write(body.getBytes());
+        exchange.getResponseBody().close();
+    }
+    
+    public String metricsJson() {
+        int slots;
+        synchronized (insertionOrder) {
+            slots = insertionOrder.size();
+        }
+        return String.format("{\"entries\":%d,\"slots\":%d,\"cachedBytes\":%d,\"executed\":%d,\"replayed\":%d,\"conflicts\":%d,\"evicted\":%d}",
+                entries.size(), slots, cachedBytes.get(), executed.sum(), replayed.sum(), conflicts.sum(), evicted.sum());
+    }
+}
+
+// HTTP Server implementation
+class EventWebServer {
+    private final reminderManager rm;
+    
+    public EventWebServer() {
+        this.rm = new reminderManager();
+        this.archive = openArchive();
+        if (notifications != null) rm.setChangeListener(notifications);
+        
+        // Add some initial events
+        rm.addEvent(new Event("Team Meeting", "Weekly team sync meeting", LocalDate.now().plusDays(1)));
+        rm.addEvent(new Event("Project Deadline", "Submit final project report", LocalDate.now().plusDays(7)));
+        rm.addEvent(new Event("Doctor Appointment", "Annual health checkup", LocalDate.now().plusDays(14)));
+    }
+    
+    private HttpTransport transport;
+    private final EventArchive archive;
+    private ScheduledExecutorService backgroundTasks;
+    private final NotificationPipeline notifications = NotificationPipeline.fromSystemProperties();
+    // Reminders already sent, so the periodic scan does not repeat them
+    private final Map<String, LocalDate> remindersSent = new HashMap<>();   // event identity -> due date
+    private final CountDownLatch indexesBuilt = new CountDownLatch(1);
+    private final AdmissionController admission = AdmissionController.fromSystemProperties();
+    private final IdempotencyCache idempotency = IdempotencyCache.fromSystemProperties();
+    
+    public void start() throws IOException {
+        start(8080, System.getProperty("eventflow.transport", "jdk"));
+    }
+    
+    // Transport is chosen at startup: "jdk" (com.sun.net.httpserver) or "nio" (selector event loops)
+    public void start(int port, String transportMode) throws IOException {
+        // Fast startup: open the listener first and build secondary indexes in the background;
+        // until they are ready, queries and stats fall back to scans of the primary store
+        boolean fastStartup = Boolean.getBoolean("eventflow.fastStartup");
+        reminderManager.IndexSnapshot snapshot = rm.beginIndexRebuild();
+        if (!fastStartup) buildIndexes(snapshot);
+        
+        transport = HttpTransport.create(transportMode, port);
+        
+        transport.createContext("/", new StaticFileHandler());
+        // Takes the lock itself, so that archived events are read without it
+        transport.createContext("/api/events", admission.guard(new EventHandler()));
+        transport.createContext("/api/events/add", apiWrite(new AddEventHandler()));
+        transport.createContext("/api/events/complete", apiWrite(new CompleteEventHandler()));
+        transport.createContext("/api/events/delete", apiWrite(new DeleteEventHandler()));
+        transport.createContext("/api/events/search", api(new SearchEventHandler()));
+        transport.createContext("/api/events/undo", apiWrite(new UndoHandler()));
+        transport.createContext("/api/events/query", admission.guard(new QueryEventHandler()));
+        transport.createContext("/api/stats", api(new StatsHandler()));
+        transport.createContext("/api/events/export", admission.guard(new ExportHandler()));
+        transport.createContext("/api/metrics", new MetricsHandler());
+        
+        transport.start();
+        
+        // Archiving and reminder scans share one background thread
+        backgroundTasks = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-background");
+            thread.setDaemon(true);
+            return thread;
+        });
+        startTiering();
+        scheduleReminders();
+        
+        if (fastStartup) {
+            Thread builder = new Thread(() -> buildIndexes(snapshot), "index-builder");
+            builder.setDaemon(true);
+            builder.start();
+        }
+        
+        System.out.println("🚀 Event Reminder System Started! (" + transport.getName() + " transport)");
+        System.out.println("Listening after " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+        System.out.println("📱 Open your browser: http://localhost:" + transport.getPort());
+        System.out.println("🛑 Press Ctrl+C to stop server");
+    }
+    
+    public void stop() {
+        if (transport != null) transport.stop();
+        if (backgroundTasks != null) backgroundTasks.shutdownNow();
+        if (notifications != null) notifications.shutdown();
+    }
+    
+    private void buildIndexes(reminderManager.IndexSnapshot snapshot) {
+        EventArchive.ArchiveCursor archived = null;
+        if (archive != null) {
+            try {
+                archived = archive.cursor(null, null);
+            } catch (IOException e) {
+                System.err.println("Could not read archive for stats: " + e.getMessage());
+            }
+        }
+        try {
+            rm.finishIndexRebuild(snapshot, archived != null ? archived : Collections.emptyIterator());
+        } finally {
+            if (archived != null) archived.close();
+        }
+        indexesBuilt.countDown();
+        System.out.println("Secondary indexes ready after " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+    }
+    
+    public void awaitIndexes() throws InterruptedException {
+        indexesBuilt.await();
+    }
+    
+    reminderManager getReminderManager() { return rm; }
+    
+    private static EventArchive openArchive() {
+        try {
+            return new EventArchive(Paths.get(System.getProperty("eventflow.archiveDir", "archive")));
+        } catch (IOException e) {
+            System.err.println("Archive disabled: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Background task moving cold events into archive segments
+    private void startTiering() {
+        if (archive == null) return;
+        int graceDays = Integer.getInteger("eventflow.archive.graceDays", 7);
+        long intervalMinutes = Long.getLong("eventflow.archive.intervalMinutes", 10);
+        backgroundTasks.scheduleWithFixedDelay(() -> {
+            try {
+                rm.archiveColdEvents(archive, LocalDate.now(), graceDays);
+            } catch (IOException e) {
+                System.err.println("Archiving failed: " + e.getMessage());
+            }
+        }, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+    
+    // Periodically feeds pending occurrences due within the next day into the notification pipeline
+    private void scheduleReminders() {
+        if (notifications == null) return;
+        long intervalMinutes = Long.getLong("eventflow.notify.reminderIntervalMinutes", 60);
+        backgroundTasks.scheduleWithFixedDelay(() -> {
+            LocalDate today = LocalDate.now();
+            List<Event> due;
+            synchronized (rm) {
+                due = rm.getDueReminders(today, 1);
+            }
+            remindersSent.values().removeIf(date -> date.isBefore(today));
+            for (Event event : due) {
+                Notification reminder = new Notification("reminder", event);
+                if (remindersSent.putIfAbsent(reminder.coalesceKey(), event.getDate()) == null) {
+                    notifications.submit(reminder);
+                }
+            }
+        }, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+    
+    // API handlers pass admission control, then run one at a time against the shared reminderManager
+    private HttpHandler api(HttpHandler handler) {
+        return admission.guard(serialized(handler));
+    }
+    
+    // Write handlers additionally honour Idempotency-Key; replays never take the reminderManager lock
+    private HttpHandler apiWrite(HttpHandler handler) {
+        return admission.guard(idempotency.wrap(serialized(handler)));
+    }
+    
+    private HttpHandler serialized(HttpHandler handler) {
+        return exchange -> {
+            synchronized (rm) {
+                handler.handle(exchange);
+            }
+        };
+    }
+    
+    public int getPort() { return transport == null ? -1 : transport.getPort(); }
+    
+    // HTTP Handlers
+    class StaticFileHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/")) path = "/index.html";
+            
+            try {
+                byte[] content = Files.readAllBytes(Paths.get("web" + path));
+                String contentType = getContentType(path);
+                
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content);
+            } catch (IOException e) {
+                String response = "File not found: " + path;
+                exchange.sendResponseHeaders(404, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+        
+        private String getContentType(String path) {
+            if (path.endsWith(".html")) return "text/html";
+            if (path.endsWith(".css")) return "text/css";
+            if (path.endsWith(".js")) return "application/javascript";
+            return "text/plain";
+        }
+    }
+    
+    class EventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                if ("archived".equals(params.get("include"))) {
+                    writeEventsWithArchive(exchange, params.get("from"), params.get("to"));
+                    return;
+                }
+                String jsonResponse = rm.getAllEventsJson();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+                exchange.sendResponseHeaders(200, jsonResponse.length());
+                exchange.getResponseBody().write(jsonResponse.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    // Hot and archived events merged in date order, optionally limited to [from, to]. The lock is
+    // held only to copy the hot events and pin the archive's segments (archiving publishes under
+    // the same lock, so nothing is missed or listed twice); the archive is then streamed through
+    // its sparse date index without it.
+    private void writeEventsWithArchive(HttpExchange exchange, String from, String to) throws IOException {
+        LocalDate start, end;
+        try {
+            start = from == null ? null : LocalDate.parse(from);
+            end = to == null ? null : LocalDate.parse(to);
+        } catch (DateTimeParseException e) {
+            sendBadRequest(exchange, "from and to must be yyyy-MM-dd dates");
+            return;
+        }
+        List<Event> hot;
+        int segmentCount;
+        synchronized (rm) {
+            hot = start == null && end == null
+                    ? rm.getAllEvents()
+                    : rm.getEventsByDateRange(start == null ? LocalDate.MIN : start, end == null ? LocalDate.MAX : end);
+            segmentCount = archive == null ? 0 : archive.segmentCount();
+        }
+        hot.sort(Comparator.comparing(Event::getDate));
+        
+        EventArchive.ArchiveCursor cold = archive == null ? null : archive.cursor(start, end, segmentCount);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.sendResponseHeaders(200, 0);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                    16 * 1024);
+            String separator = "";
+            writer.write("[");
+            for (Event event : hot) {
+                while (cold != null && cold.hasNext() && !cold.peekDate().isAfter(event.getDate())) {
+                    writer.write(separator);
+                    writer.write(cold.next().toJson());
+                    separator = ",";
+                }
+                writer.write(separator);
+                writer.write(event.toJson());
+                separator = ",";
+            }
+            while (cold != null && cold.hasNext()) {
+                writer.write(separator);
+                writer.write(cold.next().toJson());
+                separator = ",";
+            }
+            writer.write("]");
+            writer.close();
+        } finally {
+            if (cold != null) cold.close();
+        }
+    }
+    
+    class AddEventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type, Idempotency-Key");
+            
+            if ("POST".equals(exchange.getRequestMethod())) {
+                String requestBody = new String(exchange.getRequestBody().readAllBytes());
+                String title = extractJsonValue(requestBody, "title");
+                String description = extractJsonValue(requestBody, "description");
+                String dateStr = extractJsonValue(requestBody, "date");
+                
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(dateStr);
+                } catch (DateTimeParseException e) {
+                    sendBadRequest(exchange, "Date must be yyyy-MM-dd: " + dateStr);
+                    return;
+                }
+                if (!isSupportedDate(date)) {
+                    sendBadRequest(exchange, "Date must be between " + MIN_EVENT_DATE + " and " + MAX_EVENT_DATE);
+                    return;
+                }
+                String recurrence = requestBody.contains("\"recurrence\":\"")
+                        ? extractJsonValue(requestBody, "recurrence") : "";
+                RecurrenceRule rule = null;
+                if (!recurrence.isEmpty()) {
+                    try {
+                        rule = RecurrenceRule.parse(recurrence);
+                    } catch (IllegalArgumentException e) {
+                        sendBadRequest(exchange, "Invalid recurrence: " + e.getMessage());
+                        return;
+                    }
+                }
+                Event newEvent = rule == null
+                        ? new Event(title, description, date)
+                        : new Event(title, description, date, rule);
+                rm.addEvent(newEvent);
+                
+                String response = "{\"success\": true, \"message\": \"Event added successfully\"}";
+                exchange.sendResponseHeaders(200, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+        
+        private String extractJsonValue(String json, String key) {
+            String pattern = "\"" + key + "\":\"";
+            int start = json.indexOf(pattern) + pattern.length();
+            int end = json.indexOf("\"", start);
+            return json.substring(start, end);
+        }
+    }
+    
+    class CompleteEventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type, Idempotency-Key");
+            
+            if ("POST".equals(exchange.getRequestMethod())) {
+                String requestBody = new String(exchange.getRequestBody().readAllBytes());
+                // A stable id wins over the list position, which archiving may have shifted
+                int index = requestBody.contains("\"id\":")
+                        ? rm.indexOfId(Long.parseLong(extractJsonValue(requestBody, "id")))
+                        : Integer.parseInt(extractJsonValue(requestBody, "index"));
+                if (index < 0) {
+                    sendGone(exchange);
+                    return;
+                }
+                
+                if (requestBody.contains("\"occurrenceDate\":")) {
+                    String occurrenceDate = extractJsonValue(requestBody, "occurrenceDate").replace("\"", "");
+                    rm.completeOccurrence(index, LocalDate.parse(occurrenceDate));
+                } else {
+                    rm.updateEventStatus(index);
+                }
+                
+                String response = "{\"success\": true, \"message\": \"Event completed\"}";
+                exchange.sendResponseHeaders(200, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+        
+        private String extractJsonValue(String json, String key) {
+            String pattern = "\"" + key + "\":";
+            int start = json.indexOf(pattern) + pattern.length();
+            int end = json.indexOf(",", start);
+            if (end == -1) end = json.indexOf("}", start);
+            return json.substring(start, end).trim();
+        }
+    }
+    
+    class DeleteEventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "DELETE");
+            
+            if ("DELETE".equals(exchange.getRequestMethod())) {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                int index = params.containsKey("id")
+                        ? rm.indexOfId(Long.parseLong(params.get("id")))
+                        : Integer.parseInt(params.get("index"));
+                if (index < 0) {
+                    sendGone(exchange);
+                    return;
+                }
+                
+                rm.removeEvent(index);
+                
+                String response = "{\"success\": true, \"message\": \"Event deleted\"}";
+                exchange.sendResponseHeaders(200, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    class SearchEventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            
+            if ("GET".equals(exchange.getRequestMethod())) {
+                String query = exchange.getRequestURI().getQuery();
+                String keyword = java.net.URLDecoder.decode(query.split("=")[1], "UTF-8");
+                
+                List<Event> results = rm.smartSearch(keyword);
+                StringBuilder json = new StringBuilder("[");
+                
+                for (int i = 0; i < results.size(); i++) {
+                    json.append(results.get(i).toJson());
+                    if (i < results.size() - 1) json.append(",");
+                }
+                json.append("]");
+                
+                String jsonResponse = json.toString();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, jsonResponse.length());
+                exchange.getResponseBody().write(jsonResponse.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    class QueryEventHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                String jsonResponse;
+                int status = 200;
+                try {
+                    EventQuery query = EventQuery.parse(params.get("q"), params.get("sort"), params.get("limit"));
+                    List<Event> results;
+                    String plan;
+                    synchronized (rm) {
+                        results = rm.query(query.pattern == null ? query : query.withoutPattern());
+                        plan = rm.getLastQueryPlan();
+                    }
+                    // A client regex runs on this snapshot without blocking other requests
+                    results = query.filterByPattern(results, reminderManager.REGEX_BUDGET_NANOS);
+                    if (query.pattern != null) plan += "+regex";
+                    
+                    StringBuilder json = new StringBuilder("{\"plan\":\"").append(plan)
+                            .append("\",\"count\":").append(results.size()).append(",\"events\":[");
+                    synchronized (rm) {
+                        for (int i = 0; i < results.size(); i++) {
+                            json.append(results.get(i).toJson());
+                            if (i < results.size() - 1) json.append(",");
+                        }
+                    }
+                    jsonResponse = json.append("]}").toString();
+                } catch (EventQuery.PatternTimeoutException e) {
+                    status = 422;
+                    jsonResponse = "{\"success\": false, \"message\": \"Pattern too expensive\"}";
+                } catch (RuntimeException e) {
+                    status = 400;
+                    jsonResponse = "{\"success\": false, \"message\": \"Invalid query\"}";
+                }
+                
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, jsonResponse.length());
+                exchange.getResponseBody().write(jsonResponse.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    // Dates accepted from clients; anything further out is almost certainly a typo or an attack
+    static final LocalDate MIN_EVENT_DATE = LocalDate.of(1900, 1, 1);
+    static final LocalDate MAX_EVENT_DATE = LocalDate.of(9999, 12, 31);
+    
+    static boolean isSupportedDate(LocalDate date) {
+        return !date.isBefore(MIN_EVENT_DATE) && !date.isAfter(MAX_EVENT_DATE);
+    }
+    
+    // The event a client addressed by id was deleted or archived since it loaded the list
+    // Message text may echo client input, so it is escaped for the JSON string
+    static void sendBadRequest(HttpExchange exchange, String message) throws IOException {
+        String escaped = message.replace("\\", "\\\\").replace("\"", "\\\"").replaceAll("[\\x00-\\x1f]", " ");
+        byte[] response = ("{\"success\": false, \"message\": \"" + escaped + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(400, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.getResponseBody().close();
+    }
+    
+    static void sendGone(HttpExchange exchange) throws IOException {
+        String response = "{\"success\": false, \"message\": \"Event no longer exists\"}";
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(404, response.length());
+        exchange.getResponseBody().write(response.getBytes());
+        exchange.getResponseBody().close();
+    }
+    
+    static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(URLDecoder.decode(kv[0], "UTF-8"), kv.length > 1 ? URLDecoder.decode(kv[1], "UTF-8") : "");
+        }
+        return params;
+    }
+    
+    // Streams events in date order; the reminderManager lock is held only while fetching each page
+    class ExportHandler implements HttpHandler {
+        private static final int PAGE_SIZE = 1000;
+        
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                exchange.close();
+                return;
+            }
+            
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String format = params.getOrDefault("format", "jsonl");
+            LocalDate from, to;
+            Boolean completed;
+            try {
+                from = params.containsKey("from") ? LocalDate.parse(params.get("from")) : null;
+                to = params.containsKey("to") ? LocalDate.parse(params.get("to")) : null;
+                completed = params.containsKey("completed") ? Boolean.parseBoolean(params.get("completed")) : null;
+                if (!Arrays.asList("csv", "jsonl", "ics").contains(format)) throw new IllegalArgumentException(format);
+                if (from != null && to != null && from.isAfter(to)) throw new IllegalArgumentException("from > to");
+            } catch (RuntimeException e) {
+                String response = "{\"success\": false, \"message\": \"Invalid export request\"}";
+                exchange.sendResponseHeaders(400, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+                exchange.close();
+                return;
+            }
+            if (!rm.indexesReady()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            
+            // Archiving is held off while the export runs: the lock is released between pages, and
+            // an event moved into a segment the cold cursor does not cover would be missed
+            int segmentCount;
+            synchronized (rm) {
+                rm.beginExport();
+                segmentCount = archive == null ? 0 : archive.segmentCount();
+            }
+            try {
+                export(exchange, params, format, from, to, completed, segmentCount);
+            } finally {
+                rm.endExport();
+            }
+        }
+        
+        private void export(HttpExchange exchange, Map<String, String> params, String format, LocalDate from,
+                            LocalDate to, Boolean completed, int segmentCount) throws IOException {
+            // gzip=true downloads a .gz file; Accept-Encoding: gzip compresses transparently
+            boolean gzipFile = "true".equals(params.get("gzip"));
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            boolean gzipEncoding = !gzipFile && acceptEncoding != null && acceptEncoding.contains("gzip");
+            exchange.getResponseHeaders().set("Content-Type",
+                    gzipFile ? "application/gzip" : EventExportWriter.contentType(format));
+            exchange.getResponseHeaders().set("Content-Disposition",
+                    "attachment; filename=\"events." + format + (gzipFile ? ".gz" : "") + "\"");
+            if (gzipEncoding) exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            
+            OutputStream body = exchange.getResponseBody();
+            if (gzipFile || gzipEncoding) body = new GZIPOutputStream(body, 8192, true);
+            EventArchive.ArchiveCursor cold = "archived".equals(params.get("include")) && archive != null
+                    ? archive.cursor(from, to, segmentCount) : null;
+            // Closed only on success: if the export fails part way, the exception reaches the
+            // transport, which drops the connection so the client sees a truncated download
+            Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), 16 * 1024);
+            try {
+                EventExportWriter export = new EventExportWriter(writer, format);
+                export.begin();
+                
+                ExportCursor cursor = new ExportCursor(from);
+                List<Event> page;
+                do {
+                    synchronized (rm) {
+                        page = rm.nextExportPage(cursor, to, PAGE_SIZE);
+                    }
+                    for (Event event : page) {
+                        // Merge archived events that sort before this hot event
+                        while (cold != null && cold.hasNext() && !cold.peekDate().isAfter(event.getDate())) {
+                            writeIfMatches(export, cold.next(), completed);
+                        }
+                        writeIfMatches(export, event, completed);
+                    }
+                    writer.flush();
+                } while (!page.isEmpty());
+                
+                while (cold != null && cold.hasNext()) writeIfMatches(export, cold.next(), completed);
+                export.end();
+                writer.close();
+            } finally {
+                if (cold != null) cold.close();
+            }
+        }
+        
+        private void writeIfMatches(EventExportWriter export, Event event, Boolean completed) throws IOException {
+            if (completed == null || event.getEventStatus() == completed) export.write(event);
+        }
+    }
+    
+    class StatsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                String jsonResponse;
+                int status = 200;
+                try {
+                    LocalDate today = LocalDate.now();
+                    int days = Integer.parseInt(params.getOrDefault("days", "7"));
+                    String granularity = params.getOrDefault("granularity", "day");
+                    if (days <= 0 || !Arrays.asList("day", "week", "month").contains(granularity)) {
+                        throw new IllegalArgumentException("Invalid stats parameters");
+                    }
+                    LocalDate from = params.containsKey("from") ? LocalDate.parse(params.get("from")) : today;
+                    LocalDate to = params.containsKey("to") ? LocalDate.parse(params.get("to")) : today.plusDays(days - 1);
+                    if (!isSupportedDate(from) || !isSupportedDate(to) || !isSupportedDate(today.plusDays(days - 1))) {
+                        throw new IllegalArgumentException("Stats dates out of range");
+                    }
+                    jsonResponse = rm.getStats().toJson(today, days, from, to, granularity, rm.indexesReady());
+                } catch (RuntimeException e) {
+                    status = 400;
+                    jsonResponse = "{\"success\": false, \"message\": \"Invalid stats request\"}";
+                }
+                
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, jsonResponse.length());
+                exchange.getResponseBody().write(jsonResponse.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    class MetricsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            
+            if ("GET".equals(exchange.getRequestMethod())) {
+                String jsonResponse = "{\"admission\":" + admission.metricsJson()
+                        + ",\"idempotency\":" + idempotency.metricsJson()
+                        + (notifications != null ? ",\"notifications\":" + notifications.metricsJson() : "") + "}";
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, jsonResponse.length());
+                exchange.getResponseBody().write(jsonResponse.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+    
+    class UndoHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
+            
+            if ("POST".equals(exchange.getRequestMethod())) {
+                boolean success = rm.undoLastDelete();
+                
+                String message = success ? "Event restored successfully" : "Nothing to undo";
+                String response = String.format("{\"success\": %b, \"message\": \"%s\"}", success, message);
+                
+                exchange.sendResponseHeaders(200, response.length());
+                exchange.getResponseBody().write(response.getBytes());
+            }
+            exchange.getResponseBody().close();
+        }
+    }
+}
+
+// Topic 4: Advanced OOP - Interface for pluggable HTTP transports
+// Both implementations host the same HttpHandler instances
+interface HttpTransport {
+    int BACKLOG = 1024;
+    
+    void createContext(String path, HttpHandler handler);
+    void start() throws IOException;
+    void stop();
+    int getPort();
+    String getName();
+    
+    static HttpTransport create(String mode, int port) throws IOException {
+        switch (mode.toLowerCase()) {
+            case "jdk": return new JdkHttpTransport(port);
+            case "nio": return new NioHttpTransport(port, Runtime.getRuntime().availableProcessors(), 10_000);
+            default: throw new IllegalArgumentException("Unknown transport: " + mode + " (expected jdk or nio)");
+        }
+    }
+}
+
+// Default transport backed by com.sun.net.httpserver.HttpServer.
+// HttpServer's executor only parses requests and runs admission; handlers run on a separate
+// worker pool, so a request is admitted or rejected before it queues behind busy workers.
+class JdkHttpTransport implements HttpTransport {
+    private final HttpServer server;
+    private final ExecutorService dispatcher;
+    private final ExecutorService executor;
+    
+    public JdkHttpTransport(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        dispatcher = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        server.setExecutor(dispatcher);
+    }
+    
+    @Override
+    public void createContext(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> dispatch(handler, exchange));
+    }
+    
+    private void dispatch(HttpHandler handler, HttpExchange exchange) throws IOException {
+        if (handler instanceof AdmissionController.Guarded) {
+            AdmissionController.Guarded guarded = (AdmissionController.Guarded) handler;
+            long admittedAt = guarded.admit(exchange);
+            if (admittedAt < 0) return;
+            executor.execute(() -> run(exchange, () -> guarded.handleAdmitted(exchange, admittedAt)));
+        } else {
+            executor.execute(() -> run(exchange, () -> handler.handle(exchange)));
+        }
+    }
+    
+    // Handlers finish off the dispatcher thread, so failures are answered here rather than by HttpServer
+    private void run(HttpExchange exchange, IoAction action) {
+        AbortableOutputStream body = new AbortableOutputStream(exchange.getResponseBody());
+        exchange.setStreams(null, body);
+        try {
+            action.run();
+        } catch (Exception e) {
+            System.err.println("Handler error: " + e.getMessage());
+            body.abort();
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private interface IoAction {
+        void run() throws IOException;
+    }
+    
+    // After a handler failure, closing the exchange must drop the connection: a chunked body that
+    // was ended normally would look like a complete response. HttpServer closes the connection
+    // itself when closing the response stream fails.
+    private static class AbortableOutputStream extends FilterOutputStream {
+        private boolean aborted;
+        
+        AbortableOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        void abort() { aborted = true; }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException { out.write(b, off, len); }
+        
+        @Override
+        public void close() throws IOException {
+            if (aborted) throw new IOException("Response aborted");
+            super.close();
+        }
+    }
+    
+    @Override
+    public void start() { server.start(); }
+    
+    @Override
+    public void stop() {
+        server.stop(0);
+        dispatcher.shutdown();
+        executor.shutdown();
+    }
+    
+    @Override
+    public int getPort() { return server.getAddress().getPort(); }
+    
+    @Override
+    public String getName() { return "jdk"; }
+}
+
+// Pool of fixed-size direct buffers shared by the NIO event loops
+class DirectBufferPool {
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final int bufferSize;
+    
+    public DirectBufferPool(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+    
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) buffer = ByteBuffer.allocateDirect(bufferSize);
+        buffer.clear();
+        return buffer;
+    }
+    
+    public void release(ByteBuffer buffer) {
+        free.offer(buffer);
+    }
+}
+
+// HttpExchange adapter so existing handlers run unchanged on the NIO transport.
+// The response body is buffered and framed with Content-Length when the handler closes it,
+// unless the handler announces an unknown length (0), in which case it streams chunked.
+// HTTP/1.0 clients cannot decode chunks, so their streamed bodies end when the connection closes.
+class NioHttpExchange extends HttpExchange {
+    private static final int CHUNK_SIZE = 8192;
+    private static final long WRITE_TIMEOUT_MS = 30_000;
+    
+    private final String method;
+    private final URI uri;
+    private final String protocol;
+    private final Headers requestHeaders;
+    private final Headers responseHeaders = new Headers();
+    private final InetSocketAddress local, remote;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private InputStream requestBody;
+    private OutputStream responseBody;
+    private final ByteArrayOutputStream bodyBuffer = new ByteArrayOutputStream();
+    private int responseCode = -1;
+    private boolean finished;
+    private final boolean keepAlive;
+    private final List<ByteBuffer> output;
+    private final SocketChannel channel;    // null when streaming is not possible
+    private boolean streaming;
+    private boolean closeDelimited;
+    private Selector writeSelector;
+    
+    NioHttpExchange(String method, URI uri, String protocol, Headers requestHeaders, byte[] body,
+                    InetSocketAddress local, InetSocketAddress remote, boolean keepAlive, List<ByteBuffer> output,
+                    SocketChannel channel) {
+        this.method = method;
+        this.uri = uri;
+        this.protocol = protocol;
+        this.requestHeaders = requestHeaders;
+        this.local = local;
+        this.remote = remote;
+        this.keepAlive = keepAlive;
+        this.output = output;
+        this.channel = channel;
+        this.requestBody = new ByteArrayInputStream(body);
+        this.responseBody = new FilterOutputStream(bodyBuffer) {
+            @Override
+            public void write(byte[] b, int off, int len) { bodyBuffer.write(b, off, len); }
+            
+            @Override
+            public void close() throws IOException { finish(); }
+        };
+    }
+    
+    // Serializes status line, headers and body onto the connection's output queue (once)
+    void finish() throws IOException {
+        if (finished) return;
+        if (streaming) {
+            responseBody.close();
+            return;
+        }
+        finished = true;
+        if (responseCode < 0) responseCode = 500;
+        byte[] body = bodyBuffer.toByteArray();
+        
+        output.add(ByteBuffer.wrap(head("Content-Length: " + body.length)));
+        if (body.length > 0) output.add(ByteBuffer.wrap(body));
+    }
+    
+    private byte[] head(String framing) {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(responseCode).append(' ')
+                .append(reasonPhrase(responseCode)).append("\r\n");
+        for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+            for (String value : header.getValue()) {
+                head.append(header.getKey()).append(": ").append(value).append("\r\n");
+            }
+        }
+        if (framing != null) head.append(framing).append("\r\n");
+        boolean reuse = keepAlive && !closeDelimited;
+        head.append("Connection: ").append(reuse ? "keep-alive" : "close").append("\r\n\r\n");
+        return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+    
+    // Chunked streaming writes straight to the socket with bounded memory from the handler's
+    // worker thread; the event loop leaves the connection alone until the handler returns.
+    private void startStreaming() throws IOException {
+        streaming = true;
+        closeDelimited = !"HTTP/1.1".equals(protocol);
+        for (ByteBuffer pending : output) blockingWrite(pending);
+        output.clear();
+        blockingWrite(ByteBuffer.wrap(head(closeDelimited ? null : "Transfer-Encoding: chunked")));
+        
+        responseBody = new OutputStream() {
+            private final byte[] chunk = new byte[CHUNK_SIZE];
+            private int length;
+            
+            @Override
+            public void write(int b) throws IOException {
+                if (length == chunk.length) flush();
+                chunk[length++] = (byte) b;
+            }
+            
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    if (length == chunk.length) flush();
+                    int n = Math.min(len, chunk.length - length);
+                    System.arraycopy(b, off, chunk, length, n);
+                    length += n;
+                    off += n;
+                    len -= n;
+                }
+            }
+            
+            @Override
+            public void flush() throws IOException {
+                if (length == 0) return;
+                if (closeDelimited) {
+                    blockingWrite(ByteBuffer.wrap(chunk, 0, length));
+                    length = 0;
+                    return;
+                }
+                blockingWrite(ByteBuffer.wrap((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.ISO_8859_1)));
+                blockingWrite(ByteBuffer.wrap(chunk, 0, length));
+                blockingWrite(ByteBuffer.wrap("\r\n".getBytes(StandardCharsets.ISO_8859_1)));
+                length = 0;
+            }
+            
+            @Override
+            public void close() throws IOException {
+                if (finished) return;
+                finished = true;
+                try {
+                    flush();
+                    if (!closeDelimited) blockingWrite(ByteBuffer.wrap("0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1)));
+                } finally {
+                    release();
+                }
+            }
+        };
+    }
+    
+    boolean isStreaming() { return streaming; }
+    
+    boolean isCloseDelimited() { return closeDelimited; }
+    
+    // Closes the private write selector; needed on every path, including aborted streams
+    void release() {
+        if (writeSelector == null) return;
+        try {
+            writeSelector.close();
+        } catch (IOException ignored) {
+        }
+        writeSelector = null;
+    }
+    
+    private void blockingWrite(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            if (channel.write(data) > 0) continue;
+            // Socket buffer full: wait for writability on a private selector
+            if (writeSelector == null) {
+                writeSelector = Selector.open();
+                channel.register(writeSelector, SelectionKey.OP_WRITE);
+            }
+            if (writeSelector.select(WRITE_TIMEOUT_MS) == 0) throw new IOException("Write timed out");
+            writeSelector.selectedKeys().clear();
+        }
+    }
+    
+    private static String reasonPhrase(int code) {
+        switch (code) {
+            case 200: return "OK";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 413: return "Payload Too Large";
+            case 429: return "Too Many Requests";
+            case 431: return "Request Header Fields Too Large";
+            case 500: return "Internal Server Error";
+            case 501: return "Not Implemented";
+            case 503: return "Service Unavailable";
+            default: return "Status";
+        }
+    }
+    
+    @Override public Headers getRequestHeaders() { return requestHeaders; }
+    @Override public Headers getResponseHeaders() { return responseHeaders; }
+    @Override public URI getRequestURI() { return uri; }
+    @Override public String getRequestMethod() { return method; }
+    @Override public HttpContext getHttpContext() { return null; }
+    @Override
+    public void close() {
+        try {
+            finish();
+        } catch (IOException e) {
+            System.err.println("Response failed: " + e.getMessage());
+        }
+    }
+
+    @Override public InputStream getRequestBody() { return requestBody; }
+    @Override public OutputStream getResponseBody() { return responseBody; }
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+        this.responseCode = rCode;
+        // Same convention as HttpServer: 0 = unknown length, sent chunked
+        if (responseLength == 0 && channel != null) startStreaming();
+    }
+
+    @Override public InetSocketAddress getRemoteAddress() { return remote; }
+    @Override public int getResponseCode() { return responseCode; }
+    @Override public InetSocketAddress getLocalAddress() { return local; }
+    @Override public String getProtocol() { return protocol; }
+    @Override public Object getAttribute(String name) { return attributes.get(name); }
+    @Override public void setAttribute(String name, Object value) { attributes.put(name, value); }
+    @Override public HttpPrincipal getPrincipal() { return null; }
+    
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+        if (i != null) requestBody = i;
+        if (o != null) responseBody = o;
+    }
+}
+
+// NIO transport: one acceptor, one selector event loop per core, HTTP/1.1 keep-alive and pipelining.
+// Event loops only parse, admit and write; handlers run on a worker pool, one request per connection at a time.
+class NioHttpTransport implements HttpTransport {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final long IDLE_TIMEOUT_MS = 30_000;
+    
+    private final int port;
+    private final int loopCount;
+    private final int maxConnections;
+    private final Map<String, HttpHandler> contexts = new ConcurrentHashMap<>();
+    private final DirectBufferPool bufferPool = new DirectBufferPool(BUFFER_SIZE);
+    private final AtomicInteger openConnections = new AtomicInteger();
+    
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workers;
+    private EventLoop[] loops;
+    private Thread acceptor;
+    private volatile boolean running;
+    
+    public NioHttpTransport(int port, int loopCount, int maxConnections) {
+        this.port = port;
+        this.loopCount = Math.max(1, loopCount);
+        this.maxConnections = maxConnections;
+    }
+    
+    @Override
+    public void createContext(String path, HttpHandler handler) { contexts.put(path, handler); }
+    
+    @Override
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+        running = true;
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        
+        loops = new EventLoop[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            loops[i] = new EventLoop(i);
+            loops[i].start();
+        }
+        // Non-daemon like HttpServer's dispatcher, so the server outlives the console in main
+        acceptor = new Thread(this::acceptLoop, "nio-http-acceptor");
+        acceptor.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+        }
+        for (EventLoop loop : loops) loop.selector.wakeup();
+        workers.shutdown();
+    }
+    
+    @Override
+    public int getPort() { return serverChannel.socket().getLocalPort(); }
+    
+    @Override
+    public String getName() { return "nio"; }
+    
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                // Connection cap: refuse beyond the limit instead of queueing unbounded work
+                if (openConnections.incrementAndGet() > maxConnections) {
+                    openConnections.decrementAndGet();
+                    channel.close();
+                    continue;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (IOException e) {
+                if (running) System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    // Longest registered prefix wins, matching HttpServer's context selection
+    private HttpHandler findHandler(String path) {
+        HttpHandler best = null;
+        int bestLength = -1;
+        for (Map.Entry<String, HttpHandler> context : contexts.entrySet()) {
+            String prefix = context.getKey();
+            if (path.startsWith(prefix) && prefix.length() > bestLength) {
+                best = context.getValue();
+                bestLength = prefix.length();
+            }
+        }
+        return best;
+    }
+    
+    // Per-connection state owned by a single event loop
+    private static class Connection {
+        final SocketChannel channel;
+        byte[] in = new byte[1024];
+        int inLength;
+        final List<ByteBuffer> out = new ArrayList<>();
+        boolean closeAfterWrite;
+        boolean busy;           // a handler owns the connection until it completes
+        long lastActive = System.currentTimeMillis();
+        
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+        
+        void append(ByteBuffer data) {
+            int n = data.remaining();
+            if (inLength + n > in.length) {
+                in = Arrays.copyOf(in, Math.max(in.length * 2, inLength + n));
+            }
+            data.get(in, inLength, n);
+            inLength += n;
+        }
+        
+        void consume(int n) {
+            System.arraycopy(in, n, in, 0, inLength - n);
+            inLength -= n;
+        }
+    }
+    
+    private class EventLoop extends Thread {
+        final Selector selector;
+        final ConcurrentLinkedQueue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        final ConcurrentLinkedQueue<Runnable> completions = new ConcurrentLinkedQueue<>();
+        final ByteBuffer readBuffer = bufferPool.acquire();
+        final ByteBuffer writeBuffer = bufferPool.acquire();
+        
+        EventLoop(int id) throws IOException {
+            super("nio-http-loop-" + id);
+            selector = Selector.open();
+        }
+        
+        void register(SocketChannel channel) {
+            pending.offer(channel);
+            selector.wakeup();
+        }
+        
+        @Override
+        public void run() {
+            long lastSweep = System.currentTimeMillis();
+            while (running) {
+                try {
+                    selector.select(1000);
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+                    }
+                    Runnable completion;
+                    while ((completion = completions.poll()) != null) completion.run();
+                    
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isReadable()) onReadable(key, connection);
+                            if (key.isValid() && key.isWritable()) serve(key, connection);
+                        } catch (IOException | CancelledKeyException e) {
+                            close(key);
+                        }
+                    }
+                    
+                    long now = System.currentTimeMillis();
+                    if (now - lastSweep >= 1000) {
+                        closeIdle(now);
+                        lastSweep = now;
+                    }
+                } catch (IOException e) {
+                    System.err.println("Event loop error: " + e.getMessage());
+                }
+            }
+            for (SelectionKey key : selector.keys()) close(key);
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+            bufferPool.release(readBuffer);
+            bufferPool.release(writeBuffer);
+        }
+        
+        private void onReadable(SelectionKey key, Connection connection) throws IOException {
+            readBuffer.clear();
+            int n = connection.channel.read(readBuffer);
+            if (n < 0) {
+                close(key);
+                return;
+            }
+            connection.lastActive = System.currentTimeMillis();
+            readBuffer.flip();
+            connection.append(readBuffer);
+            serve(key, connection);
+        }
+        
+        // Pipelining: answers buffered requests in order. The next request is only started once every
+        // earlier response has been written, so a streaming handler has the socket to itself.
+        private void serve(SelectionKey key, Connection connection) throws IOException {
+            while (flush(connection)) {
+                if (connection.busy) {
+                    key.interestOps(0);
+                    return;
+                }
+                if (connection.closeAfterWrite) {
+                    close(key);
+                    return;
+                }
+                if (!processRequest(key, connection)) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+        
+        // Parses and dispatches one buffered request; returns false when more bytes are needed
+        private boolean processRequest(SelectionKey key, Connection connection) throws IOException {
+            int headerEnd = indexOf(connection.in, connection.inLength, "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            if (headerEnd < 0) {
+                return connection.inLength > MAX_HEADER_BYTES && reject(connection, 431);
+            }
+            
+            String[] lines = new String(connection.in, 0, headerEnd, StandardCharsets.ISO_8859_1).split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length != 3) return reject(connection, 400);
+            
+            Headers headers = new Headers();
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) headers.add(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+            }
+            if (headers.containsKey("Transfer-Encoding")) return reject(connection, 501);
+            
+            int contentLength = 0;
+            try {
+                String length = headers.getFirst("Content-Length");
+                if (length != null) contentLength = Integer.parseInt(length);
+            } catch (NumberFormatException e) {
+                return reject(connection, 400);
+            }
+            if (contentLength < 0 || contentLength > MAX_BODY_BYTES) return reject(connection, 413);
+            
+            int bodyStart = headerEnd + 4;
+            if (connection.inLength < bodyStart + contentLength) return false;
+            byte[] body = Arrays.copyOfRange(connection.in, bodyStart, bodyStart + contentLength);
+            connection.consume(bodyStart + contentLength);
+            
+            String protocol = requestLine[2];
+            String connectionHeader = headers.getFirst("Connection");
+            boolean keepAlive = "HTTP/1.1".equals(protocol)
+                    ? !"close".equalsIgnoreCase(connectionHeader)
+                    : "keep-alive".equalsIgnoreCase(connectionHeader);
+            if (!running) keepAlive = false;
+            
+            URI uri;
+            try {
+                uri = new URI(requestLine[1]);
+            } catch (URISyntaxException e) {
+                return reject(connection, 400);
+            }
+            
+            List<ByteBuffer> response = new ArrayList<>();
+            NioHttpExchange exchange = new NioHttpExchange(requestLine[0], uri, protocol, headers, body,
+                    (InetSocketAddress) connection.channel.getLocalAddress(),
+                    (InetSocketAddress) connection.channel.getRemoteAddress(),
+                    keepAlive, response, connection.channel);
+            if (!keepAlive) connection.closeAfterWrite = true;
+            HttpHandler handler = findHandler(uri.getPath());
+            if (handler == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.finish();
+                connection.out.addAll(response);
+                return true;
+            }
+            
+            // Admission runs here so that a rejected request never waits for a worker
+            HttpHandler work = handler;
+            if (handler instanceof AdmissionController.Guarded) {
+                AdmissionController.Guarded guarded = (AdmissionController.Guarded) handler;
+                long admittedAt = guarded.admit(exchange);
+                if (admittedAt < 0) {
+                    exchange.finish();
+                    connection.out.addAll(response);
+                    return true;
+                }
+                work = e -> guarded.handleAdmitted(e, admittedAt);
+            }
+            
+            connection.busy = true;
+            HttpHandler task = work;
+            try {
+                workers.execute(() -> runHandler(key, connection, task, exchange, response));
+            } catch (RejectedExecutionException e) {
+                connection.busy = false;
+                connection.closeAfterWrite = true;
+            }
+            return true;
+        }
+        
+        // Worker side: runs the handler, then hands the finished response back to the event loop
+        private void runHandler(SelectionKey key, Connection connection, HttpHandler handler,
+                                NioHttpExchange exchange, List<ByteBuffer> response) {
+            boolean failed = false;
+            try {
+                handler.handle(exchange);
+            } catch (Exception e) {
+                System.err.println("Handler error: " + e.getMessage());
+                failed = true;
+            }
+            // A streamed body that failed part way must not be terminated as if it were complete
+            boolean abort = failed && exchange.isStreaming();
+            try {
+                if (!abort) {
+                    if (failed && exchange.getResponseCode() < 0) exchange.sendResponseHeaders(500, -1);
+                    exchange.finish();
+                }
+            } catch (IOException e) {
+                abort = true;
+            } finally {
+                exchange.release();
+            }
+            boolean aborted = abort;
+            boolean closeDelimited = exchange.isCloseDelimited();
+            completions.offer(() -> {
+                if (closeDelimited) connection.closeAfterWrite = true;
+                complete(key, connection, response, aborted);
+            });
+            selector.wakeup();
+        }
+        
+        private void complete(SelectionKey key, Connection connection, List<ByteBuffer> response, boolean aborted) {
+            connection.busy = false;
+            connection.lastActive = System.currentTimeMillis();
+            if (aborted || !key.isValid()) {
+                close(key);
+                return;
+            }
+            connection.out.addAll(response);
+            try {
+                serve(key, connection);
+            } catch (IOException | CancelledKeyException e) {
+                close(key);
+            }
+        }
+        
+        private boolean reject(Connection connection, int code) throws IOException {
+            NioHttpExchange exchange = new NioHttpExchange("GET", URI.create("/"), "HTTP/1.1", new Headers(),
+                    new byte[0], null, null, false, connection.out, null);
+            exchange.sendResponseHeaders(code, -1);
+            exchange.finish();
+            connection.inLength = 0;
+            connection.closeAfterWrite = true;
+            return true;
+        }
+        
+        // Stages pending output through the loop's direct buffer; returns false when the socket
+        // is full and leftovers stay queued for the next writable event
+        private boolean flush(Connection connection) throws IOException {
+            while (!connection.out.isEmpty()) {
+                writeBuffer.clear();
+                for (ByteBuffer chunk : connection.out) {
+                    if (!writeBuffer.hasRemaining()) break;
+                    int n = Math.min(chunk.remaining(), writeBuffer.remaining());
+                    ByteBuffer slice = chunk.duplicate();
+                    slice.limit(slice.position() + n);
+                    writeBuffer.put(slice);
+                }
+                writeBuffer.flip();
+                int written = connection.channel.write(writeBuffer);
+                
+                while (written > 0) {
+                    ByteBuffer head = connection.out.get(0);
+                    int n = Math.min(written, head.remaining());
+                    head.position(head.position() + n);
+                    written -= n;
+                    if (!head.hasRemaining()) connection.out.remove(0);
+                }
+                if (writeBuffer.hasRemaining()) return false;
+            }
+            return true;
+        }
+        
+        private void closeIdle(long now) {
+            for (SelectionKey key : selector.keys()) {
+                Connection connection = (Connection) key.attachment();
+                if (connection != null && !connection.busy && now - connection.lastActive > IDLE_TIMEOUT_MS) close(key);
+            }
+        }
+        
+        private void close(SelectionKey key) {
+            key.cancel();
+            try {
+                if (key.channel().isOpen()) {
+                    key.channel().close();
+                    openConnections.decrementAndGet();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+    
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
+
+// Throughput benchmark: runs the same handlers on each transport over keep-alive connections.
+// Usage: java Event_Reminder_System.TransportBenchmark [clients] [requestsPerClient] [pipelineDepth]
+class TransportBenchmark {
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        // Measure the transports, not the per-client rate limit
+        if (System.getProperty("eventflow.rateLimit.rps") == null) {
+            System.setProperty("eventflow.rateLimit.rps", "1e9");
+        }
+        
+        for (String mode : new String[] {"jdk", "nio"}) {
+            EventWebServer server = new EventWebServer();
+            server.start(0, mode);
+            try {
+                run(server.getPort(), clients, requests / 10, depth); // warm-up
+                long startNanos = System.nanoTime();
+                run(server.getPort(), clients, requests, depth);
+                double seconds = (System.nanoTime() - startNanos) / 1e9;
+                System.out.printf("%s: %d requests in %.2fs = %.0f req/s (clients=%d, pipeline=%d)%n",
+                        mode, clients * requests, seconds, clients * requests / seconds, clients, depth);
+            } finally {
+                server.stop();
+            }
+        }
+    }
+    
+    private static void run(int port, int clients, int requests, int depth) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<?>> futures = new ArrayList<>();
+        byte[] request = ("GET /api/events HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.setTcpNoDelay(true);
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    for (int sent = 0; sent < requests; sent += depth) {
+                        int batch = Math.min(depth, requests - sent);
+                        for (int i = 0; i < batch; i++) out.write(request);
+                        out.flush();
+                        for (int i = 0; i < batch; i++) readResponse(in);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdown();
+    }
+    
+    // Reads one response, honouring Content-Length so the connection can be reused
+    private static void readResponse(InputStream in) throws IOException {
+        int contentLength = 0;
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                String header = line.toString().trim();
+                if (header.isEmpty()) break;
+                if (header.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                }
+                line.setLength(0);
+            } else {
+                line.append((char) b);
+            }
+        }
+        if (b == -1) throw new EOFException("Connection closed mid-response");
+        in.readNBytes(contentLength);
+    }
+}
+
+// Randomized linearizability check for the event store. Worker threads run add, complete,
+// delete, undo and search concurrently, either directly against a reminderManager or through
+// the HTTP handlers, and each recorded history must be explained by some sequential order that
+// respects real time (Wing & Gong search over a sequential model, memoising visited states).
+// Usage: java Event_Reminder_System.LinearizabilityChecker [store|jdk|nio] [rounds] [threads] [opsPerThread] [seed]
+class LinearizabilityChecker {
+    private static final int UNDO_CAPACITY = 50;    // matches reminderManager's undo stack
+    private static final LocalDate EVENT_DATE = LocalDate.of(2030, 1, 1);
+    private static final int KEPT_EVENTS = 8;       // events carried over between rounds
+    // The search is exponential in the worst case; histories needing more states are inconclusive
+    private static final int MAX_STATES = 200_000;
+    
+    enum Verdict { LINEARIZABLE, VIOLATION, INCONCLUSIVE }
+    
+    // One operation as seen by its caller; 'result' is null when the API returns nothing observable
+    static class Operation {
+        final int thread;
+        final String kind;
+        final String arg;
+        long invoked, returned;
+        String result;
+        
+        Operation(int thread, String kind, String arg) {
+            this.thread = thread;
+            this.kind = kind;
+            this.arg = arg;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("[%d..%d] t%d %s(%s) -> %s", invoked, returned, thread, kind, arg, result);
+        }
+    }
+    
+    // Sequential model of reminderManager: titles in list order ('*' suffix = completed) plus
+    // the bounded undo stack
+    static class Model {
+        final List<String> events;
+        final List<String> undo;
+        
+        Model(List<String> events, List<String> undo) {
+            this.events = events;
+            this.undo = undo;
+        }
+        
+        // Applies 'op' to a copy of this state; returns {next state, expected result}
+        Object[] apply(Operation op) {
+            List<String> nextEvents = new ArrayList<>(events);
+            List<String> nextUndo = new ArrayList<>(undo);
+            String result = null;
+            switch (op.kind) {
+                case "add":
+                    nextEvents.add(op.arg);
+                    break;
+                case "complete": {
+                    int index = Integer.parseInt(op.arg);
+                    if (index >= 1 && index <= nextEvents.size() && !nextEvents.get(index - 1).endsWith("*")) {
+                        nextEvents.set(index - 1, nextEvents.get(index - 1) + "*");
+                    }
+                    break;
+                }
+                case "delete": {
+                    int index = Integer.parseInt(op.arg);
+                    if (index >= 1 && index <= nextEvents.size()) {
+                        String removed = nextEvents.remove(index - 1);
+                        if (nextUndo.size() < UNDO_CAPACITY) nextUndo.add(removed);
+                    }
+                    break;
+                }
+                case "undo":
+                    result = Boolean.toString(!nextUndo.isEmpty());
+                    if (!nextUndo.isEmpty()) nextEvents.add(nextUndo.remove(nextUndo.size() - 1));
+                    break;
+                default: {
+                    List<String> matches = new ArrayList<>();
+                    for (String event : nextEvents) if (event.contains(op.arg)) matches.add(event);
+                    Collections.sort(matches);
+                    result = matches.toString();
+                }
+            }
+            return new Object[] {new Model(nextEvents, nextUndo), result};
+        }
+        
+        @Override
+        public String toString() { return events + "/" + undo; }
     }
     
-    // Advanced filtering using internal structures
-    public List<Event> getEventsByDateRange(LocalDate start, LocalDate end) {
-        List<Event> result = new ArrayList<>();
-        List<Event> sortedEvents = dateTree.getSortedEvents();
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "store";
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int opsPerThread = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        if (System.getProperty("eventflow.rateLimit.rps") == null) {
+            System.setProperty("eventflow.rateLimit.rps", "1e9");
+        }
         
-        // Topic 2: Control Flow - Enhanced for loop
-        for (Event event : sortedEvents) {
-            if (!event.getDate().isBefore(start) && !event.getDate().isAfter(end)) {
-                result.add(event);
+        // The store logs every operation; keep the report readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setErr(System.out);
+        
+        EventWebServer server = null;
+        HttpClient client = null;
+        if (!target.equals("store")) {
+            server = new EventWebServer();
+            server.start(0, target);
+            server.awaitIndexes();
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+        
+        Random random = new Random(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long startNanos = System.nanoTime();
+        int inconclusive = 0;
+        try {
+            for (int round = 0; round < rounds; round++) {
+                reminderManager rm = server != null ? server.getReminderManager() : new reminderManager();
+                Model initial = snapshot(rm);
+                
+                List<List<Operation>> plans = new ArrayList<>();
+                int indexRange = initial.events.size() + 4;
+                for (int t = 0; t < threads; t++) {
+                    List<Operation> plan = new ArrayList<>();
+                    for (int i = 0; i < opsPerThread; i++) plan.add(randomOperation(random, round, t, i, indexRange));
+                    plans.add(plan);
+                }
+                
+                List<Operation> history;
+                try {
+                    history = execute(pool, plans, rm, client, server);
+                } catch (ExecutionException e) {
+                    console.println("FAILED (" + target + ", round " + round + ", seed " + seed + "): " + e.getCause());
+                    e.getCause().printStackTrace(console);
+                    System.exit(1);
+                    return;
+                }
+                Verdict verdict = check(history, initial);
+                if (verdict == Verdict.INCONCLUSIVE) inconclusive++;
+                if (verdict == Verdict.VIOLATION) {
+                    history.sort(Comparator.comparingLong(op -> op.invoked));
+                    console.println("NOT LINEARIZABLE (" + target + ", round " + round + ", seed " + seed + ")");
+                    console.println("initial: " + initial);
+                    for (Operation op : history) console.println("  " + op);
+                    System.exit(1);
+                }
             }
+        } finally {
+            pool.shutdown();
+            if (server != null) server.stop();
+            System.setOut(console);
+            System.setErr(console);
         }
-        return result;
+        console.printf("%s: %d rounds x %d threads x %d ops linearizable in %d ms (%d inconclusive, seed %d)%n",
+                target, rounds, threads, opsPerThread, (System.nanoTime() - startNanos) / 1_000_000, inconclusive, seed);
     }
     
-    // Smart search using multiple internal structures
-    public List<Event> smartSearch(String keyword) {
-        Set<Event> results = new HashSet<>();
-        
-        // Search in main array
-        for (Event event : arr) {
-            if (event.showTitle().toLowerCase().contains(keyword.toLowerCase()) ||
-                event.showDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                results.add(event);
+    // Quiescent state at the start of a round. Earlier events never match this round's searches,
+    // so only their positions matter; the store is trimmed so the model stays small.
+    private static Model snapshot(reminderManager rm) {
+        synchronized (rm) {
+            while (rm.undoLastDelete()) { }
+            int trimmed = 0;
+            while (rm.count() > KEPT_EVENTS) {
+                rm.removeEvent(1);
+                trimmed++;
             }
+            return new Model(new ArrayList<>(Collections.nCopies(rm.count(), "~")),
+                    new ArrayList<>(Collections.nCopies(Math.min(trimmed, UNDO_CAPACITY), "~")));
         }
-        
-        return new ArrayList<>(results);
     }
     
-    // EventRepository interface implementation
-    @Override
-    public void store(Event event) { addEvent(event); }
+    private static String render(Event event) {
+        return event.showTitle() + (event.getEventStatus() ? "*" : "");
+    }
     
-    @Override
-    public Event retrieve(int index) {
-        try {
-            return linkedStorage.retrieve(index);
-        } catch (IndexOutOfBoundsException e) {
-            return null;
-        }
+    // Titles carry the round number between '#' marks so a search only sees this round's events
+    private static Operation randomOperation(Random random, int round, int thread, int i, int indexRange) {
+        int roll = random.nextInt(100);
+        if (roll < 30) return new Operation(thread, "add", "#" + round + "#t" + thread + "n" + i);
+        if (roll < 50) return new Operation(thread, "complete", Integer.toString(1 + random.nextInt(indexRange)));
+        if (roll < 75) return new Operation(thread, "delete", Integer.toString(1 + random.nextInt(indexRange)));
+        if (roll < 85) return new Operation(thread, "undo", "");
+        return new Operation(thread, "search", "#" + round + "#");
     }
     
-    @Override
-    public boolean remove(int index) {
-        if (index > 0 && index <= arr.size()) {
-            removeEvent(index);
-            return true;
+    private static List<Operation> execute(ExecutorService pool, List<List<Operation>> plans, reminderManager rm,
+                                           HttpClient client, EventWebServer server) throws Exception {
+        AtomicLong clock = new AtomicLong();
+        CyclicBarrier start = new CyclicBarrier(plans.size());
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<Operation> plan : plans) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (Operation op : plan) {
+                    op.invoked = clock.incrementAndGet();
+                    op.result = client != null ? viaHttp(op, client, server.getPort()) : direct(op, rm);
+                    op.returned = clock.incrementAndGet();
+                }
+                return null;
+            }));
         }
-        return false;
+        for (Future<?> future : futures) future.get();
+        
+        List<Operation> history = new ArrayList<>();
+        for (List<Operation> plan : plans) history.addAll(plan);
+        return history;
     }
     
-    @Override
-    public int count() { return arr.size(); }
+    private static String direct(Operation op, reminderManager rm) {
+        switch (op.kind) {
+            case "add":
+                rm.addEvent(new Event(op.arg, "generated", EVENT_DATE));
+                return null;
+            case "complete":
+                rm.updateEventStatus(Integer.parseInt(op.arg));
+                return null;
+            case "delete":
+                rm.removeEvent(Integer.parseInt(op.arg));
+                return null;
+            case "undo":
+                return Boolean.toString(rm.undoLastDelete());
+            default:
+                // Results are live events; render them under the lock, as the HTTP handlers do
+                synchronized (rm) {
+                    List<String> matches = new ArrayList<>();
+                    for (Event event : rm.smartSearch(op.arg)) matches.add(render(event));
+                    Collections.sort(matches);
+                    return matches.toString();
+                }
+        }
+    }
     
-    public List<Event> getAllEvents() { return new ArrayList<>(arr); }
+    private static final java.util.regex.Pattern SEARCH_RESULT =
+            java.util.regex.Pattern.compile("\"title\":\"([^\"]*)\".*?\"isCompleted\":(true|false)");
     
-    public String getAllEventsJson() {
-        if (arr.isEmpty()) return "[]";
-        StringBuilder json = new StringBuilder("[");
-        
-        // Topic 2: Control Flow - For loop with condition
-        for (int i = 0; i < arr.size(); i++) {
-            json.append(arr.get(i).toJson());
-            if (i < arr.size() - 1) json.append(",");
+    private static String viaHttp(Operation op, HttpClient client, int port) throws Exception {
+        String base = "http://localhost:" + port;
+        HttpRequest request;
+        switch (op.kind) {
+            case "add":
+                request = HttpRequest.newBuilder(URI.create(base + "/api/events/add"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + op.arg
+                                + "\",\"description\":\"generated\",\"date\":\"" + EVENT_DATE + "\"}")).build();
+                break;
+            case "complete":
+                request = HttpRequest.newBuilder(URI.create(base + "/api/events/complete"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"index\":" + op.arg + "}")).build();
+                break;
+            case "delete":
+                request = HttpRequest.newBuilder(URI.create(base + "/api/events/delete?index=" + op.arg))
+                        .DELETE().build();
+                break;
+            case "undo":
+                request = HttpRequest.newBuilder(URI.create(base + "/api/events/undo"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build();
+                break;
+            default:
+                request = HttpRequest.newBuilder(URI.create(base + "/api/events/search?keyword="
+                        + URLEncoder.encode(op.arg, StandardCharsets.UTF_8))).GET().build();
+        }
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(op.kind + " returned HTTP " + response.statusCode());
+        }
+        switch (op.kind) {
+            case "undo":
+                return Boolean.toString(response.body().contains("\"success\": true"));
+            case "search": {
+                List<String> matches = new ArrayList<>();
+                java.util.regex.Matcher matcher = SEARCH_RESULT.matcher(response.body());
+                while (matcher.find()) matches.add(matcher.group(1) + (matcher.group(2).equals("true") ? "*" : ""));
+                Collections.sort(matches);
+                return matches.toString();
+            }
+            default:
+                return null;
         }
-        json.append("]");
-        return json.toString();
     }
     
-    // Internal diagnostic method
-    public void printInternalStats() {
-        System.out.println("=== Internal System Status ===");
-        System.out.println("ArrayList size: " + arr.size());
-        System.out.println("Custom array size: " + arraySize + "/" + arrayCapacity);
-        linkedStorage.displayInfo();
-        undoStack.displayInfo();
-        processingQueue.displayInfo();
-        dateTree.displayInfo();
+    // LINEARIZABLE if some total order of 'history' that respects real time replays against the model
+    static Verdict check(List<Operation> history, Model initial) {
+        Set<String> visited = new HashSet<>();
+        if (search(history, new BitSet(history.size()), initial, visited)) return Verdict.LINEARIZABLE;
+        return visited.size() > MAX_STATES ? Verdict.INCONCLUSIVE : Verdict.VIOLATION;
     }
-}
-
-// HTTP Server implementation
-class EventWebServer {
-    private final reminderManager rm;
     
-    public EventWebServer() {
-        this.rm = new reminderManager();
+    private static boolean search(List<Operation> history, BitSet done, Model state, Set<String> visited) {
+        if (done.cardinality() == history.size()) return true;
+        if (visited.size() > MAX_STATES) return false;
         
-        // Add some initial events
-        rm.addEvent(new Event("Team Meeting", "Weekly team sync meeting", LocalDate.now().plusDays(1)));
-        rm.addEvent(new Event("Project Deadline", "Submit final project report", LocalDate.now().plusDays(7)));
-        rm.addEvent(new Event("Doctor Appointment", "Annual health checkup", LocalDate.now().plusDays(14)));
+        // Only operations invoked before the earliest pending response can go next
+        long horizon = Long.MAX_VALUE;
+        for (int i = done.nextClearBit(0); i < history.size(); i = done.nextClearBit(i + 1)) {
+            horizon = Math.min(horizon, history.get(i).returned);
+        }
+        for (int i = done.nextClearBit(0); i < history.size(); i = done.nextClearBit(i + 1)) {
+            Operation op = history.get(i);
+            if (op.invoked > horizon) continue;
+            Object[] step = state.apply(op);
+            if (op.result != null && !op.result.equals(step[1])) continue;
+            done.set(i);
+            if (visited.add(Arrays.toString(done.toLongArray()) + step[0]) && search(history, done, (Model) step[0], visited)) return true;
+            done.clear(i);
+        }
+        return false;
     }
+}
+
+// Delivery harness for NotificationPipeline against local stand-ins: a webhook that fails its
+// first requests, a minimal SMTP server, and a webhook nobody listens on. Checks retries,
+// coalescing, batching and dead-lettering; exits non-zero if any check fails.
+// Usage: java Event_Reminder_System.NotificationHarness [webhookFailures]
+class NotificationHarness {
+    private static final int MAX_BATCH = 3;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final java.util.regex.Pattern ITEM =
+            java.util.regex.Pattern.compile("\"kind\":\"(\\w+)\".*?\"title\":\"([^\"]*)\"");
     
-    public void start() throws IOException {
-        HttpServer server = HttpServer.create(new InetSocketAddress(8080), 0);
+    private static int failures;
+    
+    public static void main(String[] args) throws Exception {
+        int webhookFailures = args.length > 0 ? Integer.parseInt(args[0]) : 2;
         
-        server.createContext("/", new StaticFileHandler());
-        server.createContext("/api/events", new EventHandler());
-        server.createContext("/api/events/add", new AddEventHandler());
-        server.createContext("/api/events/complete", new CompleteEventHandler());
-        server.createContext("/api/events/delete", new DeleteEventHandler());
-        server.createContext("/api/events/search", new SearchEventHandler());
-        server.createContext("/api/events/undo", new UndoHandler());
+        // Flaky webhook: 500 for the first 'webhookFailures' requests, then records each batch
+        AtomicInteger webhookRequests = new AtomicInteger();
+        List<String> webhookBatches = Collections.synchronizedList(new ArrayList<>());
+        HttpServer webhook = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        webhook.createContext("/hook", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            boolean fail = webhookRequests.incrementAndGet() <= webhookFailures;
+            if (!fail) webhookBatches.add(body);
+            exchange.sendResponseHeaders(fail ? 500 : 200, -1);
+            exchange.close();
+        });
+        webhook.start();
         
-        server.setExecutor(null);
-        server.start();
+        List<String> mails = Collections.synchronizedList(new ArrayList<>());
+        List<String> smtpCommands = Collections.synchronizedList(new ArrayList<>());
+        ServerSocket smtp = startSmtpServer(mails, smtpCommands);
         
-        System.out.println("🚀 Event Reminder System Started!");
-        System.out.println("📱 Open your browser: http://localhost:8080");
-        System.out.println("🛑 Press Ctrl+C to stop server");
-    }
-    
-    // HTTP Handlers
-    class StaticFileHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            String path = exchange.getRequestURI().getPath();
-            if (path.equals("/")) path = "/index.html";
-            
-            try {
-                byte[] content = Files.readAllBytes(Paths.get("web" + path));
-                String contentType = getContentType(path);
-                
-                exchange.getResponseHeaders().set("Content-Type", contentType);
-                exchange.sendResponseHeaders(200, content.length);
-                exchange.getResponseBody().write(content);
-            } catch (IOException e) {
-                String response = "File not found: " + path;
-                exchange.sendResponseHeaders(404, response.length());
-                exchange.getResponseBody().write(response.getBytes());
+        // A port that was just free, so connections are refused
+        int deadPort;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            deadPort = probe.getLocalPort();
+        }
+        
+        List<NotificationSink> sinks = List.of(
+                new WebhookSink(URI.create("http://localhost:" + webhook.getAddress().getPort() + "/hook")),
+                new SmtpSink("localhost", smtp.getLocalPort(), "eventflow@localhost", "user@localhost"),
+                new WebhookSink(URI.create("http://localhost:" + deadPort + "/unreachable")));
+        // The flush tick is effectively disabled; the harness flushes itself so batches are deterministic
+        NotificationPipeline pipeline = new NotificationPipeline(sinks, MAX_BATCH, MAX_ATTEMPTS, 50, 3_600_000);
+        
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        reminderManager rm = new reminderManager();
+        rm.setChangeListener(pipeline);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 5; i++) rm.addEvent(new Event("Event " + i, "Harness event", today));
+        rm.updateEventStatus(1);
+        rm.updateEventStatus(2);
+        // Same title and day, but different events: must not be coalesced
+        rm.addEvent(new Event("Dentist", "First", today));
+        rm.addEvent(new Event("Dentist", "Second", today));
+        // Client-supplied text trying to add a header and to end DATA and inject SMTP commands
+        Event hostile = new Event("Hostile\r\nBcc: victim@example.com", "first line\r\n.\r\nMAIL FROM:<evil@example.com>"
+                + "\r\nRCPT TO:<victim@example.com>\n.\nDATA\r.", today);
+        rm.addEvent(hostile);
+        System.setOut(console);
+        pipeline.flush();
+        
+        int expected = 8;
+        int batches = (expected + MAX_BATCH - 1) / MAX_BATCH;
+        waitFor(() -> webhookBatches.size() >= batches && mails.size() >= batches
+                && pipeline.getDeadLetters().size() >= expected);
+        
+        List<String[]> items = new ArrayList<>();
+        for (String batch : webhookBatches) {
+            java.util.regex.Matcher matcher = ITEM.matcher(batch);
+            int inBatch = 0;
+            while (matcher.find()) {
+                items.add(new String[] {matcher.group(1), matcher.group(2)});
+                inBatch++;
             }
-            exchange.getResponseBody().close();
+            check("webhook batch size <= " + MAX_BATCH, inBatch <= MAX_BATCH);
         }
+        check("webhook retried after " + webhookFailures + " failure(s)", webhookRequests.get() >= batches + webhookFailures);
+        check("webhook received each notification once", items.size() == expected);
+        check("add then complete coalesced to 'completed'",
+                items.stream().filter(item -> item[0].equals("completed")).count() == 2);
+        check("same-title events kept apart", items.stream().filter(item -> item[1].equals("Dentist")).count() == 2);
+        check("smtp received " + batches + " digests", mails.size() == batches);
+        check("smtp digests cover every notification",
+                mails.stream().mapToLong(mail -> mail.lines().filter(line -> line.contains(" - ")).count()).sum() == expected);
+        check("unreachable sink dead-lettered after " + MAX_ATTEMPTS + " attempts", pipeline.getDeadLetters().size() == expected);
+        check("hostile description injects no smtp command",
+                smtpCommands.stream().noneMatch(command -> command.contains("evil") || command.contains("victim")));
+        check("hostile description delivered as body text",
+                mails.stream().anyMatch(mail -> mail.contains("\nMAIL FROM:<evil@example.com>\n")));
         
-        private String getContentType(String path) {
-            if (path.endsWith(".html")) return "text/html";
-            if (path.endsWith(".css")) return "text/css";
-            if (path.endsWith(".js")) return "application/javascript";
-            return "text/plain";
+        // A single-notification mail carries the title in its Subject header
+        mails.clear();
+        try {
+            ((SmtpSink) sinks.get(1)).deliver(List.of(new Notification("added", hostile)));
+        } catch (IOException e) {
+            console.println("Direct smtp delivery failed: " + e.getMessage());
+        }
+        check("hostile title adds no header", mails.size() == 1
+                && !("\n" + mails.get(0).split("\n\n", 2)[0]).contains("\nBcc:"));
+        
+        pipeline.shutdown();
+        webhook.stop(0);
+        smtp.close();
+        console.println(pipeline.metricsJson());
+        if (failures > 0) {
+            console.println(failures + " check(s) failed");
+            System.exit(1);
         }
+        console.println("All notification checks passed");
     }
     
-    class EventHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            if ("GET".equals(exchange.getRequestMethod())) {
-                String jsonResponse = rm.getAllEventsJson();
-                exchange.getResponseHeaders().set("Content-Type", "application/json");
-                exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-                exchange.sendResponseHeaders(200, jsonResponse.length());
-                exchange.getResponseBody().write(jsonResponse.getBytes());
+    // Accepts one session at a time and records each command and each (un-dot-stuffed) DATA payload
+    private static ServerSocket startSmtpServer(List<String> mails, List<String> commands) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(() -> {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+                    reply(out, "220 harness ESMTP");
+                    StringBuilder data = null;
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (data != null) {
+                            if (line.equals(".")) {
+                                mails.add(data.toString());
+                                data = null;
+                                reply(out, "250 queued");
+                            } else {
+                                data.append(line.startsWith(".") ? line.substring(1) : line).append('\n');
+                            }
+                            continue;
+                        }
+                        commands.add(line);
+                        if (line.startsWith("DATA")) {
+                            data = new StringBuilder();
+                            reply(out, "354 end with .");
+                        } else if (line.startsWith("QUIT")) {
+                            reply(out, "221 bye");
+                            break;
+                        } else {
+                            reply(out, "250-harness\r\n250 ok");
+                        }
+                    }
+                } catch (IOException e) {
+                    // Closed by the harness, or a client dropped mid-session
+                }
             }
-            exchange.getResponseBody().close();
-        }
+        }, "smtp-stand-in");
+        thread.setDaemon(true);
+        thread.start();
+        return server;
     }
     
-    class AddEventHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type");
-            
-            if ("POST".equals(exchange.getRequestMethod())) {
-                String requestBody = new String(exchange.getRequestBody().readAllBytes());
-                String title = extractJsonValue(requestBody, "title");
-                String description = extractJsonValue(requestBody, "description");
-                String dateStr = extractJsonValue(requestBody, "date");
-                
-                LocalDate date = LocalDate.parse(dateStr);
-                Event newEvent = new Event(title, description, date);
-                rm.addEvent(newEvent);
-                
-                String response = "{\"success\": true, \"message\": \"Event added successfully\"}";
-                exchange.sendResponseHeaders(200, response.length());
-                exchange.getResponseBody().write(response.getBytes());
-            }
-            exchange.getResponseBody().close();
-        }
-        
-        private String extractJsonValue(String json, String key) {
-            String pattern = "\"" + key + "\":\"";
-            int start = json.indexOf(pattern) + pattern.length();
-            int end = json.indexOf("\"", start);
-            return json.substring(start, end);
-        }
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
     }
     
-    class CompleteEventHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Content-Type");
-            
-            if ("POST".equals(exchange.getRequestMethod())) {
-                String requestBody = new String(exchange.getRequestBody().readAllBytes());
-                String indexStr = extractJsonValue(requestBody, "index");
-                int index = Integer.parseInt(indexStr);
-                
-                rm.updateEventStatus(index);
-                
-                String response = "{\"success\": true, \"message\": \"Event completed\"}";
-                exchange.sendResponseHeaders(200, response.length());
-                exchange.getResponseBody().write(response.getBytes());
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) Thread.sleep(20);
+    }
+    
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        if (!passed) failures++;
+    }
+}
+
+// Startup benchmark: launches fresh JVMs against a generated archive and reports the time
+// until the port is listening and until secondary indexes are ready, for eager and fast
+// startup, with and without an AppCDS archive (built here by a training run).
+// Usage: java Event_Reminder_System.StartupBenchmark [archivedEvents] [runs]
+class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        
+        Path dir = Files.createTempDirectory("eventflow-startup");
+        Path archiveDir = dir.resolve("archive");
+        EventArchive archive = new EventArchive(archiveDir);
+        LocalDate start = LocalDate.now().minusYears(5);
+        List<Event> batch = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            Event event = new Event("Archived event " + i, "Generated for the startup benchmark", start.plusDays(i % 1800));
+            event.setEventStatus(i % 3 != 0);
+            batch.add(event);
+            if (batch.size() == 50_000 || i == events - 1) {
+                archive.writeSegment(batch);
+                batch.clear();
             }
-            exchange.getResponseBody().close();
         }
         
-        private String extractJsonValue(String json, String key) {
-            String pattern = "\"" + key + "\":";
-            int start = json.indexOf(pattern) + pattern.length();
-            int end = json.indexOf(",", start);
-            if (end == -1) end = json.indexOf("}", start);
-            return json.substring(start, end).trim();
+        // AppCDS only archives classes loaded from JARs, so it needs a jar-only class path
+        boolean jarsOnly = true;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.endsWith(".jar")) jarsOnly = false;
         }
-    }
-    
-    class DeleteEventHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "DELETE");
-            
-            if ("DELETE".equals(exchange.getRequestMethod())) {
-                String query = exchange.getRequestURI().getQuery();
-                int index = Integer.parseInt(query.split("=")[1]);
-                
-                rm.removeEvent(index);
-                
-                String response = "{\"success\": true, \"message\": \"Event deleted\"}";
-                exchange.sendResponseHeaders(200, response.length());
-                exchange.getResponseBody().write(response.getBytes());
-            }
-            exchange.getResponseBody().close();
+        Path cds = dir.resolve("eventflow.jsa");
+        if (jarsOnly) {
+            launch(archiveDir, true, "-XX:ArchiveClassesAtExit=" + cds);
+        } else {
+            System.out.println("Skipping fast+cds: run the benchmark from a jar to build an AppCDS archive");
         }
-    }
-    
-    class SearchEventHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-            
-            if ("GET".equals(exchange.getRequestMethod())) {
-                String query = exchange.getRequestURI().getQuery();
-                String keyword = java.net.URLDecoder.decode(query.split("=")[1], "UTF-8");
-                
-                List<Event> results = rm.smartSearch(keyword);
-                StringBuilder json = new StringBuilder("[");
-                
-                for (int i = 0; i < results.size(); i++) {
-                    json.append(results.get(i).toJson());
-                    if (i < results.size() - 1) json.append(",");
-                }
-                json.append("]");
-                
-                String jsonResponse = json.toString();
-                exchange.getResponseHeaders().set("Content-Type", "application/json");
-                exchange.sendResponseHeaders(200, jsonResponse.length());
-                exchange.getResponseBody().write(jsonResponse.getBytes());
+        
+        String[][] configs = {
+                {"eager", "false", null},
+                {"fast", "true", null},
+                {"fast+cds", "true", "-XX:SharedArchiveFile=" + cds},
+        };
+        for (String[] config : configs) {
+            if (config[2] != null && !jarsOnly) continue;
+            long listening = 0, ready = 0;
+            for (int r = 0; r < runs; r++) {
+                long[] timings = launch(archiveDir, Boolean.parseBoolean(config[1]), config[2]);
+                listening += timings[0];
+                ready += timings[1];
             }
-            exchange.getResponseBody().close();
+            System.out.printf("%-9s listening after %5d ms, indexes ready after %5d ms (avg of %d, %d archived events)%n",
+                    config[0], listening / runs, ready / runs, runs, events);
         }
     }
     
-    class UndoHandler implements HttpHandler {
-        @Override
-        public void handle(HttpExchange exchange) throws IOException {
-            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
-            exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "POST");
-            
-            if ("POST".equals(exchange.getRequestMethod())) {
-                boolean success = rm.undoLastDelete();
-                
-                String message = success ? "Event restored successfully" : "Nothing to undo";
-                String response = String.format("{\"success\": %b, \"message\": \"%s\"}", success, message);
-                
-                exchange.sendResponseHeaders(200, response.length());
-                exchange.getResponseBody().write(response.getBytes());
+    // Returns {listening ms, indexes ready ms} as reported by the child JVM
+    private static long[] launch(Path archiveDir, boolean fastStartup, String jvmOption) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (jvmOption != null) command.add(jvmOption);
+        command.add("-Deventflow.archiveDir=" + archiveDir);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("Event_Reminder_System.Executer");
+        command.add("--port=0");
+        command.add("--exit-after-startup");
+        if (fastStartup) command.add("--fast-startup");
+        
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long[] timings = new long[2];
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith("Listening after ")) timings[0] = Long.parseLong(line.replaceAll("\\D", ""));
+                if (line.startsWith("Secondary indexes ready after ")) timings[1] = Long.parseLong(line.replaceAll("\\D", ""));
             }
-            exchange.getResponseBody().close();
         }
+        if (process.waitFor() != 0) throw new IOException("Startup run failed: " + command);
+        return timings;
     }
 }
 
 // Your original Executer class with enhanced console menu
 public class Executer {
     public static void main(String[] args) throws IOException {
-        // Start web server
-        new EventWebServer().start();
+        // Start web server (--transport=jdk|nio selects the HTTP transport)
+        String transportMode = System.getProperty("eventflow.transport", "jdk");
+        int port = 8080;
+        boolean exitAfterStartup = false;
+        for (String arg : args) {
+            if (arg.startsWith("--transport=")) transportMode = arg.substring("--transport=".length());
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring("--port=".length()));
+            if (arg.equals("--fast-startup")) System.setProperty("eventflow.fastStartup", "true");
+            // Training run for the AppCDS archive and for StartupBenchmark
+            if (arg.equals("--exit-after-startup")) exitAfterStartup = true;
+        }
+        EventWebServer server = new EventWebServer();
+        server.start(port, transportMode);
+        if (exitAfterStartup) {
+            try {
+                server.awaitIndexes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            server.stop();
+            System.exit(0);
+        }
         
         // Console interface
         Scanner sc = new Scanner(System.in);
@@ -843,6 +5428,11 @@ public class Executer {
         System.out.println("Web interface running at: http://localhost:8080");
         System.out.println("=".repeat(50));
         System.out.println("Press Enter to access console menu...");
+        // Without a console (a service, or stdin redirected) only the web server keeps running
+        if (!sc.hasNextLine()) {
+            System.out.println("No console input; the web server keeps running.");
+            return;
+        }
         sc.nextLine();
         
         reminderManager rm = new reminderManager();
@@ -874,7 +5464,11 @@ public class Executer {
                         System.out.print("Enter Date (yyyy-MM-dd): ");
                         String date = sc.nextLine();
                         LocalDate date2 = LocalDate.parse(date, pattern);
-                        rm.addEvent(new Event(t, d, date2));
+                        System.out.print("Repeat (blank, daily, weekly, monthly or RRULE): ");
+                        String repeat = sc.nextLine().trim();
+                        rm.addEvent(repeat.isEmpty()
+                                ? new Event(t, d, date2)
+                                : new Event(t, d, date2, RecurrenceRule.parse(repeat)));
                         break;
                     case 2:
                         rm.viewEvents();
@@ -921,6 +5515,7 @@ public class Executer {
                         break;
                 }
             } catch (Exception e) {
+                if (!sc.hasNextLine()) return;
                 System.err.println("Invalid input: " + e.getMessage());
                 sc.nextLine();
             }
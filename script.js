@@ -2,6 +2,8 @@
 let events = [];
 let currentFilter = 'all';
 let isLoading = true;
+// Idempotency key of an add that has not been confirmed yet; resubmitting the same form reuses it
+let pendingSubmission = null;
 
 // DOM element references
 const elements = {
@@ -396,6 +398,47 @@ function clearFieldError(field) {
     }
 }
 
+// crypto.randomUUID() only exists in secure contexts (https or localhost)
+function newIdempotencyKey() {
+    if (window.crypto && typeof crypto.randomUUID === 'function') {
+        return crypto.randomUUID();
+    }
+    const bytes = new Uint8Array(16);
+    if (window.crypto && typeof crypto.getRandomValues === 'function') {
+        crypto.getRandomValues(bytes);
+    } else {
+        for (let i = 0; i < bytes.length; i++) bytes[i] = Math.floor(Math.random() * 256);
+    }
+    return Array.from(bytes, b => b.toString(16).padStart(2, '0')).join('');
+}
+
+// Returns 'saved', 'offline' (server never answered) or 'failed'. Timeouts, 5xx, 429 and
+// 409 (the first attempt is still running) are retried with the same key.
+async function postWithRetry(url, body, idempotencyKey, attempts = 3) {
+    let answered = false;
+    for (let attempt = 1; attempt <= attempts; attempt++) {
+        try {
+            const response = await fetch(url, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                    'Idempotency-Key': idempotencyKey
+                },
+                body: body,
+                signal: AbortSignal.timeout(5000)
+            });
+            answered = true;
+            if (response.ok) return 'saved';
+            const retryable = response.status >= 500 || response.status === 429 || response.status === 409;
+            if (!retryable) return 'failed';
+        } catch (networkError) {
+            console.log(`Add attempt ${attempt} failed:`, networkError.message);
+        }
+        if (attempt < attempts) await new Promise(resolve => setTimeout(resolve, 500 * attempt));
+    }
+    return answered ? 'failed' : 'offline';
+}
+
 async function handleEventSubmit(e) {
     e.preventDefault();
     
@@ -423,38 +466,39 @@ async function handleEventSubmit(e) {
         submitButton.innerHTML = '<span class="btn-content"><i class="fas fa-spinner fa-spin"></i> Saving...</span>';
         submitButton.disabled = true;
         
-        // Try API call first
-        try {
-            const response = await fetch('/api/events/add', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(formData),
-                signal: AbortSignal.timeout(5000)
-            });
-            
-            if (response.ok) {
-                console.log('Event saved to server');
-            } else {
-                throw new Error('Server error');
-            }
-        } catch (apiError) {
-            console.log('API not available, saving locally');
+        // One key per submission: retries below and a resubmit of the same form send the same key,
+        // so the server adds the event at most once
+        const body = JSON.stringify(formData);
+        if (!pendingSubmission || pendingSubmission.body !== body) {
+            pendingSubmission = { body: body, key: newIdempotencyKey() };
         }
         
-        // Add to local array regardless
-        events.push({ ...formData, isCompleted: false });
-        
-        // Update UI
-        renderEvents();
-        updateStats();
-        closeEventModal();
-        
-        // Show success message
-        showToast(`Event "${formData.title}" created successfully! 🎉`, 'success');
+        let outcome;
+        try {
+            outcome = await postWithRetry('/api/events/add', body, pendingSubmission.key);
+        } finally {
+            submitButton.innerHTML = originalHTML;
+            submitButton.disabled = false;
+        }
         
-        // Restore button
-        submitButton.innerHTML = originalHTML;
-        submitButton.disabled = false;
+        if (outcome === 'saved') {
+            pendingSubmission = null;
+            console.log('Event saved to server');
+            // Reload so the new event carries its server id
+            await loadEvents();
+            closeEventModal();
+            showToast(`Event "${formData.title}" created successfully! 🎉`, 'success');
+        } else if (outcome === 'offline') {
+            // Demo mode: no server at all, so keep the event in this page only
+            console.log('API not available, saving locally');
+            events.push({ ...formData, isCompleted: false });
+            renderEvents();
+            updateStats();
+            closeEventModal();
+            showToast(`Server unavailable: "${formData.title}" saved in this browser only`, 'info');
+        } else {
+            showToast(`Event "${formData.title}" was not saved. Please try again.`, 'error');
+        }
         
     } catch (error) {
         console.error('Error creating event:', error);
@@ -573,17 +617,27 @@ function getFilteredEvents() {
     return filtered;
 }
 
-function updateStats() {
+async function updateStats() {
     if (!elements.totalEvents) return;
     
-    const total = events.length;
-    const completed = events.filter(e => e.isCompleted).length;
-    const pending = events.filter(e => !e.isCompleted).length;
-    const today = new Date();
-    const upcoming = events.filter(e => {
-        const eventDate = new Date(e.date);
-        return eventDate >= today && !e.isCompleted;
-    }).length;
+    let total, completed, pending, upcoming;
+    try {
+        // Aggregates are maintained by the server, so no need to scan the event list
+        const response = await fetch('/api/stats', { signal: AbortSignal.timeout(5000) });
+        if (!response.ok) throw new Error(`Server responded with status: ${response.status}`);
+        const stats = await response.json();
+        ({ total, completed, pending, upcoming } = stats);
+    } catch (error) {
+        // Demo mode: derive stats from the locally loaded events
+        total = events.length;
+        completed = events.filter(e => e.isCompleted).length;
+        pending = events.filter(e => !e.isCompleted).length;
+        const today = new Date();
+        upcoming = events.filter(e => {
+            const eventDate = new Date(e.date);
+            return eventDate >= today && !e.isCompleted;
+        }).length;
+    }
     
     // Update numbers with animation
     animateValue(elements.totalEvents, parseInt(elements.totalEvents.textContent) || 0, total, 1000);
@@ -620,12 +674,19 @@ async function completeEvent(index) {
     try {
         // Try API call
         try {
+            // Server events carry a stable id; positions shift when old events are archived
+            const target = events[index].id !== undefined ? { id: events[index].id } : { index: index + 1 };
             const response = await fetch('/api/events/complete', {
                 method: 'POST',
                 headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify({ index: index + 1 }),
+                body: JSON.stringify(target),
                 signal: AbortSignal.timeout(5000)
             });
+            if (response.status === 404) {
+                showToast(`"${events[index].title}" no longer exists; list refreshed`, 'error');
+                await loadEvents();
+                return;
+            }
         } catch (apiError) {
             console.log('API not available for complete action');
         }
@@ -653,10 +714,16 @@ async function deleteEvent(index) {
     try {
         // Try API call
         try {
-            const response = await fetch(`/api/events/delete?index=${index + 1}`, {
+            const target = event.id !== undefined ? `id=${event.id}` : `index=${index + 1}`;
+            const response = await fetch(`/api/events/delete?${target}`, {
                 method: 'DELETE',
                 signal: AbortSignal.timeout(5000)
             });
+            if (response.status === 404) {
+                showToast(`"${event.title}" no longer exists; list refreshed`, 'error');
+                await loadEvents();
+                return;
+            }
         } catch (apiError) {
             console.log('API not available for delete action');
         }